@@ -1,15 +1,162 @@
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
 
 /**
- * Represents a model created by the AdaBoost.M1 algorithm.
+ * Represents a model created by the AdaBoost.M1 algorithm. It is trained on a
+ * Dataset, with the sample weights of its rows in a single double[] that is
+ * reweighted in place every round, so no Record is copied. Every round gets a
+ * Hypothesis with the bitset of its correct rows, so the error and the new
+ * weights are computed from bits, with no prediction over the training rows.
  * @param <Y> The type of the output variable (class/category) of the Record's',
  * this AdaBoostM1 handles.
  */
-public class AdaBoostM1<Y> implements Classifier<Y> {
+public class AdaBoostM1<Y> implements IndexedClassifier<Y> {
+
+    /**
+     * The minimum weighted error of a round. It keeps the beta of a perfect
+     * weak Classifier above 0, so its vote log(1/beta) stays finite.
+     */
+    static final double MIN_ERROR = 1e-10;
+
+    /**
+     * The number of low bits of a weight, that are dropped to get its bucket
+     * in the weight-trimming mode. It keeps the sign bit, the 11 exponent bits
+     * and 4 leading mantissa bits, so the weights of a bucket are within a
+     * factor of 1 + 1/16.
+     */
+    private static final int BUCKET_SHIFT = 48;
+
+    /**
+     * The maximum number of fresh samples drawn in a round of the resampling
+     * mode, after a sample whose hypothesis is no better than chance. If the
+     * hypothesis of the last one is still no better, the training stops.
+     */
+    private static final int MAX_REDRAWS = 10;
+
+    /**
+     * The beta = error / (1 - error) of every round.
+     */
     private double[] b;
-    private Y[] h;
+
+    /**
+     * The vote log(1/beta) of every round, precomputed from b.
+     */
+    private double[] votes;
+
+    /**
+     * The total vote of the rounds [t, rounds()), at index t, with 0 at index
+     * rounds(). It bounds how much the votes can still change after round t.
+     */
+    private double[] remaining;
+
+    /**
+     * Indicates if predictClass stops evaluating the hypotheses, once the
+     * leading class id cannot be overtaken by the remaining rounds.
+     */
+    private boolean isEarlyExit;
+
+    /**
+     * The weak Classifier (hypothesis) of every round.
+     */
+    private final List<IndexedClassifier<Y>> h;
+
+    /**
+     * The Dictionary of the target values of the training Dataset, with their
+     * class ids.
+     */
+    private final Dictionary<Y> labels;
+
+    /**
+     * The training Dataset, kept for continueTraining. Contains null after
+     * endTraining().
+     */
+    private Dataset<Y> dataset;
+
+    /**
+     * The generator of the weak Classifier's'. Contains null after
+     * endTraining().
+     */
+    private ClassifierGenerator<Y> classifierGen;
+
+    /**
+     * The training rows, as a ColumnBlock the weak Classifier's' predict. It is
+     * built by block(), the 1st time a weak Classifier must predict the
+     * training rows, since it boxes the discrete columns. Contains null before
+     * that, and after endTraining().
+     */
+    private ColumnBlock block;
+
+    /**
+     * The sample weight of every training row, after the last round. Contains
+     * null after endTraining().
+     */
+    private double[] weights;
+
+    /**
+     * A buffer with the class id every training row is predicted as, by a
+     * hypothesis trained on a subset of the rows. It is allocated with the
+     * ColumnBlock. Contains null before that, and after endTraining().
+     */
+    private int[] predicted;
+
+    /**
+     * A buffer with the total weight of every bucket of weights, reused by
+     * every round of the weight-trimming mode. Contains null before the 1st
+     * trimmed round, and after endTraining().
+     */
+    private double[] buckets;
+
+    /**
+     * A buffer with the rows kept by a round of the weight-trimming mode, in
+     * ascending order, reused by every round. Contains null before the 1st
+     * trimmed round, and after endTraining().
+     */
+    private int[] keptRows;
+
+    /**
+     * A buffer with the weight of every training row, where the rows trimmed
+     * by a round of the weight-trimming mode are zero-weighted, reused by
+     * every round. Contains null before the 1st trimmed round, and after
+     * endTraining().
+     */
+    private double[] keptWeights;
+
+    /**
+     * The share of the total weight, that the rows the weak Classifier of a
+     * round is trained on must carry, in range (0, 1]. At 1, every round is
+     * trained on all the rows.
+     */
+    private double trimShare = 1.0;
+
+    /**
+     * The size of the sample of every round in the resampling mode, as a
+     * fraction of the number of training rows, in range (0, 1], or 0 if the
+     * resampling mode is off.
+     */
+    private double sampleFraction;
+
+    /**
+     * The source of randomness of the resampling mode. Contains null if the
+     * resampling mode was never set.
+     */
+    private Random random;
+
+    /**
+     * Indicates if the last round stopped the training, because its weighted
+     * error was at least 0.5 or 0. More rounds in the same training mode would
+     * generate the same hypothesis, from the same weights (in the resampling
+     * mode, fresh samples were already drawn for that round). It is reset
+     * when the weight-trimming or the resampling mode changes, since a round
+     * on other rows may generate a different hypothesis (at worst, that round
+     * stops the training again).
+     */
+    private boolean isConverged;
 
     /**
      * Creates an AdaBoostM1 trained model, given its training Record's', a
@@ -21,49 +168,559 @@ public class AdaBoostM1<Y> implements Classifier<Y> {
      * @param classifierGen A generator of Classifier's'.
      * @param maxModels The maximum number of weak Classifier's' this AdaBoostM1
      * model, will use for prediction.
+     * @throws IllegalArgumentException If records.isEmpty() == true.
+     * @throws IllegalArgumentException If maxModels <= 0.
      */
     public AdaBoostM1(@NotNull Collection<Record<Y>> records,
-                      ClassifierGenerator<Y> classifierGen, int maxModels) {
-        int m = records.size();
-        double e, Z;
-        Record[] temp_records = new Record[m];
-        Classifier<Y> classifier = classifierGen.generate(records);
+                      @NotNull ClassifierGenerator<Y> classifierGen,
+                      int maxModels) {
+        this(new Dataset<>(records), classifierGen, maxModels);
+    }
+
+    /**
+     * Creates an AdaBoostM1 trained model, given its training Dataset, a
+     * ClassifierGenerator to generate its weak Classifier's' and the maximum
+     * number of weak Classifier's' it will use for prediction. Training stops
+     * early if a weak Classifier has a weighted error of at least 0.5, or of
+     * 0. The training state is kept, so more rounds can be appended with
+     * continueTraining, until endTraining() is called.
+     * @param dataset A Dataset with all the training data, to construct this
+     * AdaBoostM1 model.
+     * @param classifierGen A generator of Classifier's', that are trained on
+     * the weighted rows of dataset (e.g. DecisionStump.generator()).
+     * @param maxModels The maximum number of weak Classifier's' this AdaBoostM1
+     * model, will use for prediction.
+     * @throws IllegalArgumentException If maxModels <= 0.
+     */
+    public AdaBoostM1(@NotNull Dataset<Y> dataset,
+                      @NotNull ClassifierGenerator<Y> classifierGen,
+                      int maxModels) {
+        this(dataset, classifierGen, maxModels, 1.0);
+    }
+
+    /**
+     * Creates an AdaBoostM1 trained model in the weight-trimming mode, given
+     * its training Dataset, a ClassifierGenerator to generate its weak
+     * Classifier's', the maximum number of weak Classifier's' it will use for
+     * prediction and the share of the total weight every weak Classifier is
+     * trained on. See setTrimShare.
+     * @param dataset A Dataset with all the training data, to construct this
+     * AdaBoostM1 model.
+     * @param classifierGen A generator of Classifier's', that are trained on
+     * the weighted rows of dataset, or of a subset of it.
+     * @param maxModels The maximum number of weak Classifier's' this AdaBoostM1
+     * model, will use for prediction.
+     * @param trimShare The share of the total weight every weak Classifier is
+     * trained on, in range (0, 1] (e.g. 0.99).
+     * @throws IllegalArgumentException If maxModels <= 0.
+     * @throws IllegalArgumentException If trimShare <= 0 or trimShare > 1.
+     */
+    public AdaBoostM1(@NotNull Dataset<Y> dataset,
+                      @NotNull ClassifierGenerator<Y> classifierGen,
+                      int maxModels, double trimShare) {
+        this(dataset, classifierGen, trimShare, 0.0, 0L, maxModels);
+    }
 
-        temp_records = records.toArray(temp_records);
+    /**
+     * Creates an AdaBoostM1 trained model in the resampling mode, given its
+     * training Dataset, a ClassifierGenerator to generate its weak
+     * Classifier's', the maximum number of weak Classifier's' it will use for
+     * prediction and the size and seed of the sample of every round. See
+     * setResampling.
+     * @param dataset A Dataset with all the training data, to construct this
+     * AdaBoostM1 model.
+     * @param classifierGen A generator of Classifier's', that are trained on
+     * the sample of every round, with its duplicates and a weight of 1 per
+     * row (e.g. (d, w) -> new DecisionTree<>(d, w, 2)).
+     * @param maxModels The maximum number of weak Classifier's' this AdaBoostM1
+     * model, will use for prediction.
+     * @param sampleFraction The size of the sample of every round, as a
+     * fraction of the number of training rows, in range (0, 1]. At 0, the
+     * resampling mode is off.
+     * @param seed The seed of the draws.
+     * @throws IllegalArgumentException If maxModels <= 0.
+     * @throws IllegalArgumentException If sampleFraction < 0 or
+     * sampleFraction > 1.
+     */
+    public AdaBoostM1(@NotNull Dataset<Y> dataset,
+                      @NotNull ClassifierGenerator<Y> classifierGen,
+                      int maxModels, double sampleFraction, long seed) {
+        this(dataset, classifierGen, 1.0, sampleFraction, seed, maxModels);
+    }
 
-        // Initialize the weights of all the records
-        for (int i = 0; i < m; i++)
-            temp_records[i].setWeight(1 / m);
+    /**
+     * Creates an AdaBoostM1 trained model, given its training Dataset, a
+     * ClassifierGenerator, the modes of its rounds and the maximum number of
+     * weak Classifier's' it will use for prediction.
+     * @param dataset A Dataset with all the training data.
+     * @param classifierGen A generator of Classifier's'.
+     * @param trimShare The share of the total weight every weak Classifier is
+     * trained on. See setTrimShare.
+     * @param sampleFraction The size of the sample of every round, or 0. See
+     * setResampling.
+     * @param seed The seed of the draws of the resampling mode.
+     * @param maxModels The maximum number of weak Classifier's'.
+     * @throws IllegalArgumentException If maxModels <= 0.
+     * @throws IllegalArgumentException If trimShare or sampleFraction is out
+     * of range.
+     */
+    private AdaBoostM1(@NotNull Dataset<Y> dataset,
+                       @NotNull ClassifierGenerator<Y> classifierGen,
+                       double trimShare, double sampleFraction, long seed,
+                       int maxModels) {
+        //Validates that maxModels > 0
+        if (maxModels <= 0) {
+            throw new IllegalArgumentException("Argument maxModels must be " +
+                    "> 0.");
+        }//end if
 
-        b = new double[maxModels];
-        h = new Y[maxModels];
+        int m = dataset.size();
+        this.labels = dataset.getLabels();
+        this.b = new double[0];
+        this.h = new ArrayList<>(maxModels);
+        this.dataset = dataset;
+        this.classifierGen = classifierGen;
+        //Initializes the weights of all the rows
+        this.weights = new double[m];
+        Arrays.fill(this.weights, 1.0 / m);
 
-        for (int t = 0; t < maxModels; t++) {
-            // Initialize the error variable in each loop
-            e = 0.0;
-            for (int i = 0; i < m; i++) {
-                // Get back a hypothesis h : X --> Y
-                h[t] = (Y) classifier.predict(temp_records[i]);
-                // Calculate the error of hypothesis
-                if (temp_records[i].getTarget() != h[t])
-                  e += temp_records[i].getWeight();
-                if (e > 0.5) {
-                    t = maxModels;
-                    return ; // Abort the loop
+        this.setTrimShare(trimShare);
+        this.setResampling(sampleFraction, seed);
+        this.continueTraining(maxModels);
+    }
+
+    /**
+     * Creates an AdaBoostM1 model from weak Classifier's' and betas trained
+     * elsewhere, e.g. by a ShardCoordinator. It has no training state, as if
+     * endTraining() was called.
+     * @param labels The Dictionary of the target values, with the class ids
+     * the weak Classifier's' predict.
+     * @param h The weak Classifier of every round.
+     * @param b The beta of every round.
+     * @throws IllegalArgumentException If h.size() != b.length.
+     */
+    AdaBoostM1(@NotNull Dictionary<Y> labels,
+               @NotNull List<IndexedClassifier<Y>> h,
+               @NotNull double[] b) {
+        //Validates that every round has a beta
+        if (h.size() != b.length) {
+            throw new IllegalArgumentException("Arguments h and b must have " +
+                    "the same size.");
+        }//end if
+
+        this.labels = labels;
+        this.h = new ArrayList<>(h);
+        this.b = b.clone();
+        this.isConverged = true;
+        this.updateVotes();
+    }
+
+    /**
+     * Creates an AdaBoostM1 trained model of DecisionStump's', given its
+     * training Dataset and the maximum number of rounds. The rounds run one
+     * after the other, while the Feature's' of the DecisionStump of every
+     * round are scored concurrently in a TrainingContext, against the shared
+     * weights.
+     * @param dataset A Dataset with all the training data, to construct this
+     * AdaBoostM1 model.
+     * @param maxModels The maximum number of weak Classifier's' this AdaBoostM1
+     * model, will use for prediction.
+     * @param context The TrainingContext to score the Feature's' of every
+     * round in.
+     * @throws IllegalArgumentException If maxModels <= 0.
+     */
+    public AdaBoostM1(@NotNull Dataset<Y> dataset, int maxModels,
+                      @NotNull TrainingContext context) {
+        this(dataset, DecisionStump.generator(context), maxModels);
+    }
+
+    /**
+     * Appends boosting rounds to this AdaBoostM1 model. The rounds continue
+     * from the sample weights of the last round, and the existing weak
+     * Classifier's' are kept, so the cost is only the cost of the new rounds.
+     * @param extraRounds The maximum number of rounds to append.
+     * @return The number of rounds that were appended. It is less than
+     * extraRounds if a round had a weighted error of at least 0.5, or of 0,
+     * after which no more rounds are appended.
+     * @throws IllegalArgumentException If extraRounds < 0.
+     * @throws IllegalStateException If endTraining() was called.
+     */
+    public int continueTraining(int extraRounds) {
+        //Validates that extraRounds >= 0
+        if (extraRounds < 0) {
+            throw new IllegalArgumentException("Argument extraRounds must be " +
+                    ">= 0.");
+        }//end if
 
-                }
-            }
+        //Validates that the training state is kept
+        if (this.dataset == null) {
+            throw new IllegalStateException("The training of this " +
+                    "AdaBoostM1 model has ended.");
+        }//end if
 
-            b[t] = e / (1 - e);
-            Z = 0.0;
+        int m = this.dataset.size();
+        //The number of rounds before this call
+        int start = this.h.size();
+        this.b = Arrays.copyOf(this.b, start + extraRounds);
+        for (int t = start; t < start + extraRounds && !this.isConverged;
+                t++) {
+            //Gets back a hypothesis h : X --> Y
+            Hypothesis<Y> hypothesis;
+            double e;
+            //Checks if the round is trained on a sample
+            if (this.sampleFraction > 0.0) {
+                hypothesis = this.resample();
+                e = this.error(hypothesis.getCorrect());
+                //Draws a fresh sample, while the hypothesis of the last one is
+                //no better than chance. The learner may ignore the weights, so
+                //it is never trained on the weighted rows instead
+                for (int d = 0; d < AdaBoostM1.MAX_REDRAWS && e >= 0.5; d++) {
+                    hypothesis = this.resample();
+                    e = this.error(hypothesis.getCorrect());
+                }//end for
+            } else {
+                hypothesis = this.generate(this.trimShare);
+                e = this.error(hypothesis.getCorrect());
+                //Checks if a hypothesis trained on the trimmed rows is no
+                //better than chance, so it is trained again on all the rows
+                if (e >= 0.5 && this.trimShare < 1.0) {
+                    hypothesis = this.generate(1.0);
+                    e = this.error(hypothesis.getCorrect());
+                }//end if
+            }//end if
 
+            //Checks if the hypothesis is no better than chance, so it is
+            //discarded and the training stops
+            if (e >= 0.5) {
+                this.isConverged = true;
+                break;
+            }//end if
+
+            this.b[t] = Math.max(e, AdaBoostM1.MIN_ERROR) / (1.0 - e);
+            this.h.add(hypothesis.getClassifier());
+            //Checks if the hypothesis is perfect, so the weights cannot change
+            if (e == 0.0) {
+                this.isConverged = true;
+                break;
+            }//end if
+
+            //Multiplies the weights of the correct rows by beta, 1 set bit at
+            //a time, and normalizes all the weights to a sum of 1
+            long[] correct = hypothesis.getCorrect();
+            for (int w = 0; w < correct.length; w++) {
+                for (long bits = correct[w]; bits != 0L; bits &= bits - 1) {
+                    this.weights[(w << 6) + Long.numberOfTrailingZeros(bits)]
+                            *= this.b[t];
+                }//end for
+            }//end for
+
+            double z = 0.0;
             for (int i = 0; i < m; i++) {
-                double w = temp_records[i].getWeight() / Z;
-                if (h[t][i] == temp_records[i].getTarget())
-                    w *= b[t];
+                z += this.weights[i];
+            }//end for
+
+            for (int i = 0; i < m; i++) {
+                this.weights[i] /= z;
+            }//end for
+        }//end for
+
+        this.b = Arrays.copyOf(this.b, this.h.size());
+        this.updateVotes();
+        return this.h.size() - start;
+    }
+
+    /**
+     * Calculates the weighted error of a hypothesis over all the training rows,
+     * from its bitset of correct rows, 1 clear bit at a time.
+     * @param correct The bitset of the rows the hypothesis of the current
+     * round classifies correctly.
+     * @return The sum of the weights of the rows the hypothesis misclassifies.
+     */
+    private double error(@NotNull long[] correct) {
+        int m = this.weights.length;
+        double e = 0.0;
+        for (int w = 0; w < correct.length; w++) {
+            //The misclassified rows of the word, without the bits after the
+            //last row
+            long bits = ~correct[w];
+            if ((w + 1) << 6 > m) {
+                bits &= (1L << (m & 63)) - 1;
+            }//end if
+
+            for (; bits != 0L; bits &= bits - 1) {
+                e += this.weights[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }//end for
+        }//end for
+
+        return e;
+    }
+
+    /**
+     * Generates the weak Classifier of a round, from the current weights. If
+     * share < 1, it is trained only on the rows with the largest weights, that
+     * together carry the given share of the total weight. The buckets, the
+     * kept rows and the zero-weighted weights are buffers kept by this
+     * AdaBoostM1 model, so a round allocates only the subset of the kept rows,
+     * if they are at most half of the rows.
+     * @param share The share of the total weight to train on, in range (0, 1].
+     * @return The Hypothesis of the round.
+     */
+    private @NotNull Hypothesis<Y> generate(double share) {
+        //Checks if no row is trimmed
+        if (share >= 1.0) {
+            return this.classifierGen.train(this.dataset, this.weights,
+                    this::block);
+        }//end if
+
+        int m = this.weights.length;
+        //Checks if the buffers of the weight-trimming mode are not allocated
+        if (this.buckets == null) {
+            this.buckets = new double[1 << (64 - AdaBoostM1.BUCKET_SHIFT)];
+            this.keptRows = new int[m];
+            this.keptWeights = new double[m];
+        }//end if
+
+        //The total weight of every bucket of weights, with the same exponent
+        //and leading mantissa bits, so the buckets are in ascending order of
+        //weight, with no sorting
+        double[] buckets = this.buckets;
+        Arrays.fill(buckets, 0.0);
+        double total = 0.0;
+        for (double w : this.weights) {
+            buckets[AdaBoostM1.bucket(w)] += w;
+            total += w;
+        }//end for
+
+        //Finds the smallest bucket to keep, taking the buckets from the
+        //largest, until they carry the given share of the total weight
+        double sum = 0.0;
+        int cut = buckets.length;
+        while (cut > 0 && sum < share * total) {
+            sum += buckets[--cut];
+        }//end while
+
+        //Keeps the rows with a weight in a bucket of at least cut, and
+        //zero-weights the rest
+        int k = 0;
+        for (int r = 0; r < m; r++) {
+            double w = this.weights[r];
+            if (AdaBoostM1.bucket(w) >= cut) {
+                this.keptRows[k++] = r;
+                this.keptWeights[r] = w;
+            } else {
+                this.keptWeights[r] = 0.0;
+            }//end if
+        }//end for
+
+        //Checks if no row is trimmed
+        if (k == m) {
+            return this.classifierGen.train(this.dataset, this.weights,
+                    this::block);
+        }//end if
+
+        //Checks if most of the rows are kept, so copying them would cost more
+        //than it saves, and the zero-weighted buffer is passed instead
+        if (2 * k > m) {
+            return this.classifierGen.train(this.dataset, this.keptWeights,
+                    this::block);
+        }//end if
+
+        //The kept rows are copied into a subset of the training Dataset, with
+        //their weights
+        int[] subset = Arrays.copyOf(this.keptRows, k);
+        double[] kept = new double[k];
+        for (int i = 0; i < k; i++) {
+            kept[i] = this.weights[subset[i]];
+        }//end for
+
+        return this.hypothesis(this.classifierGen.generate(this.dataset.subset(
+                subset), kept));
+    }
+
+    /**
+     * Generates the weak Classifier of a round in the resampling mode. A
+     * sample of sampleFraction * m rows is drawn with replacement, in
+     * proportion to the current weights, by an AliasSampler, and the weak
+     * Classifier is trained only on the drawn rows, with their duplicates and
+     * a weight of 1 per row, on every path.
+     * @return The Hypothesis of the round.
+     */
+    private @NotNull Hypothesis<Y> resample() {
+        int m = this.weights.length;
+        AliasSampler sampler = new AliasSampler(this.weights);
+        //The number of times every row is drawn
+        int[] counts = new int[m];
+        int draws = Math.max(1, (int) Math.ceil(this.sampleFraction * m));
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.next(this.random)]++;
+        }//end for
+
+        //The drawn rows in ascending order, every row repeated as many times
+        //as it is drawn
+        int[] sample = new int[draws];
+        int k = 0;
+        for (int r = 0; r < m; r++) {
+            for (int c = 0; c < counts[r]; c++) {
+                sample[k++] = r;
+            }//end for
+        }//end for
+
+        double[] unit = new double[draws];
+        Arrays.fill(unit, 1.0);
+        return this.hypothesis(this.classifierGen.generate(this.dataset.subset(
+                sample), unit));
+    }
+
+    /**
+     * Creates the Hypothesis of a weak Classifier trained on a subset of the
+     * rows of the training Dataset, by predicting all the training rows once.
+     * @param classifier A weak Classifier, trained on a subset of the rows.
+     * @return The Hypothesis of the weak Classifier, with the bitset of all the
+     * training rows it classifies correctly.
+     */
+    private @NotNull Hypothesis<Y> hypothesis(
+            @NotNull Classifier<Y> classifier) {
+        IndexedClassifier<Y> indexed = IndexedClassifier.of(classifier,
+                this.labels);
+        ColumnBlock block = this.block();
+        indexed.predict(block, this.predicted);
+        return new Hypothesis<>(indexed, Hypothesis.mask(this.predicted,
+                this.dataset.targets()));
+    }
+
+    /**
+     * Gets the training rows as a ColumnBlock, building it with the buffer of
+     * their predicted class ids the 1st time it is needed. A
+     * ClassifierGenerator that knows the correct rows of its Hypothesis's'
+     * from training never calls it, so the discrete columns are never boxed.
+     * @return The training rows, as a ColumnBlock in the order of the training
+     * Dataset.
+     */
+    private @NotNull ColumnBlock block() {
+        //Checks if the ColumnBlock is not built yet
+        if (this.block == null) {
+            this.block = new ColumnBlock(this.dataset);
+            this.predicted = new int[this.dataset.size()];
+        }//end if
+
+        return this.block;
+    }
+
+    /**
+     * Gets the bucket of a weight in the weight-trimming mode. The buckets of
+     * the non-negative weights are in the same order as the weights.
+     * @param weight A non-negative weight.
+     * @return The bucket of the given weight.
+     */
+    private static int bucket(double weight) {
+        return (int) (Double.doubleToRawLongBits(weight) >>>
+                AdaBoostM1.BUCKET_SHIFT);
+    }
+
+    /**
+     * Sets the weight-trimming mode of the next rounds. In this mode, the weak
+     * Classifier of every round is trained only on the rows with the largest
+     * weights, that together carry the given share of the total weight, while
+     * its error and the new weights are still computed over all the rows. In
+     * the late rounds, most of the weight sits on few rows, so the cost of a
+     * round drops to the cost of these rows. A new trim share lets
+     * continueTraining run again, after a round that stopped the training.
+     * @param trimShare The share of the total weight to train on, in range
+     * (0, 1] (e.g. 0.99). At 1, the weight-trimming mode is off.
+     * @throws IllegalArgumentException If trimShare <= 0 or trimShare > 1.
+     */
+    public void setTrimShare(double trimShare) {
+        //Validates that 0 < trimShare <= 1
+        if (!(trimShare > 0.0 && trimShare <= 1.0)) {
+            throw new IllegalArgumentException("Argument trimShare must be " +
+                    "in range (0, 1].");
+        }//end if
+
+        //Checks if the mode changes, so the next round may differ
+        if (trimShare != this.trimShare) {
+            this.isConverged = false;
+        }//end if
+
+        this.trimShare = trimShare;
+    }
+
+    /**
+     * Sets the resampling mode of the next rounds. In this mode, the weak
+     * Classifier of every round is trained on a bootstrap of the training
+     * rows, drawn with replacement in proportion to their current weights, as
+     * in the classic AdaBoost.M1 with resampling, while its error and the new
+     * weights are still computed over all the rows. The sample is a subset of
+     * the training Dataset that repeats every row as many times as it is
+     * drawn, with a weight of 1 per row, so no Record is copied, and it can be
+     * passed to any ClassifierGenerator, even one that ignores the weights.
+     * If the hypothesis of a sample is no better than chance, a fresh sample
+     * is drawn, up to MAX_REDRAWS times, before the training stops, so a round
+     * is never trained on the weighted rows. The trim share is ignored in
+     * this mode.
+     * @param sampleFraction The size of the sample of every round, as a
+     * fraction of the number of training rows, in range (0, 1]. At 0, the
+     * resampling mode is off.
+     * @param seed The seed of the draws, so that the training is repeatable.
+     * @throws IllegalArgumentException If sampleFraction < 0 or
+     * sampleFraction > 1.
+     */
+    public void setResampling(double sampleFraction, long seed) {
+        //Validates that 0 <= sampleFraction <= 1
+        if (!(sampleFraction >= 0.0 && sampleFraction <= 1.0)) {
+            throw new IllegalArgumentException("Argument sampleFraction must " +
+                    "be in range [0, 1].");
+        }//end if
+
+        //Checks if the mode changes, or new draws are taken, so the next
+        //round may differ
+        if (sampleFraction != this.sampleFraction || sampleFraction > 0.0) {
+            this.isConverged = false;
+        }//end if
+
+        this.sampleFraction = sampleFraction;
+        this.random = new Random(seed);
+    }
 
-            }
-        }
+    /**
+     * Precomputes the vote of every round and the total vote of the remaining
+     * rounds after every round, from the betas.
+     */
+    private void updateVotes() {
+        this.votes = new double[this.b.length];
+        this.remaining = new double[this.b.length + 1];
+        for (int t = this.b.length - 1; t >= 0; t--) {
+            this.votes[t] = Math.log(1.0 / this.b[t]);
+            this.remaining[t] = this.remaining[t + 1] + this.votes[t];
+        }//end for
+    }
+
+    /**
+     * Sets the early-exit mode of predictClass and predict(Record). In this
+     * mode, the hypotheses are evaluated in round order, until the margin of
+     * the leading class id over the runner-up exceeds the total vote of the
+     * remaining rounds, so the answer is the same as the full sum, at a
+     * fraction of the cost for confidently classified Record's'.
+     * @param isEarlyExit True to enable the early-exit mode, or false to
+     * always sum the votes of all the rounds.
+     */
+    public void setEarlyExit(boolean isEarlyExit) {
+        this.isEarlyExit = isEarlyExit;
+    }
+
+    /**
+     * Releases the training state of this AdaBoostM1 model (the Dataset, the
+     * sample weights and the buffers), so that only the weak Classifier's' and
+     * their betas are kept. After it, continueTraining cannot be called.
+     */
+    public void endTraining() {
+        this.dataset = null;
+        this.classifierGen = null;
+        this.block = null;
+        this.weights = null;
+        this.predicted = null;
+        this.buckets = null;
+        this.keptRows = null;
+        this.keptWeights = null;
     }
 
     /**
@@ -73,15 +730,141 @@ public class AdaBoostM1<Y> implements Classifier<Y> {
      */
     @Override
     public @NotNull Y predict(@NotNull Record<Y> record) {
-        double sum = 0.0;
-        Y hfin;
+        return this.labels.value(this.predictClass(record));
+    }
+
+    /**
+     * Predicts/Classifies the class id of a given Record, from the sum of the
+     * precomputed votes of the class ids its hypotheses predict. In the
+     * early-exit mode, it returns as soon as the remaining rounds cannot change
+     * the leading class id.
+     * @param record A Record to predict its class id.
+     * @return The class id of the predicted output value.
+     */
+    @Override
+    public int predictClass(@NotNull Record<Y> record) {
+        //The sum of the votes of the hypotheses, for every class id
+        double[] sum = new double[this.labels.size()];
+        for (int t = 0; t < this.h.size(); t++) {
+            sum[this.h.get(t).predictClass(record)] += this.votes[t];
+            //Checks if the early-exit mode is off, or there is no other class
+            if (!this.isEarlyExit || sum.length < 2) {
+                continue;
+            }//end if
+
+            //The leading and the runner-up class ids
+            int leader = sum[1] > sum[0] ? 1 : 0;
+            int second = 1 - leader;
+            for (int c = 2; c < sum.length; c++) {
+                if (sum[c] > sum[leader]) {
+                    second = leader;
+                    leader = c;
+                } else if (sum[c] > sum[second]) {
+                    second = c;
+                }//end if
+            }//end for
+
+            //Checks if the remaining rounds cannot overtake the leader. The
+            //relative slack absorbs the rounding of the sums
+            if (sum[leader] - sum[second] > this.remaining[t + 1] *
+                    (1.0 + 1e-9)) {
+                return leader;
+            }//end if
+        }//end for
 
-        for (int t = 0; t < h.length; t++) {
-            if (h[t] == record.getTarget())
-                sum += Math.log(1/b[t]);
-        }
+        return AdaBoostM1.argMax(sum, 0, sum.length);
+    }
+
+    /**
+     * Predicts/Classifies the class ids of all the rows of a ColumnBlock. Every
+     * hypothesis classifies the whole block at once, and its votes are summed
+     * in a primitive (row x class id) array.
+     * @param block A ColumnBlock with all the Feature's' of the training data.
+     * @param out An array to store the class id of row i at index i.
+     * @throws IllegalArgumentException If out.length < block.size().
+     */
+    @Override
+    public void predict(@NotNull ColumnBlock block, @NotNull int[] out) {
+        //Validates that out can hold all the rows of block
+        if (out.length < block.size()) {
+            throw new IllegalArgumentException("Argument out must have a " +
+                    "length of at least block.size().");
+        }//end if
+
+        int classCount = this.labels.size();
+        //The sum of the votes of the hypotheses, for every row and class id
+        double[] sum = new double[block.size() * classCount];
+        for (int t = 0; t < this.h.size(); t++) {
+            this.h.get(t).predict(block, out);
+            double vote = this.votes[t];
+            for (int i = 0; i < block.size(); i++) {
+                sum[i * classCount + out[i]] += vote;
+            }//end for
+        }//end for
+
+        for (int i = 0; i < block.size(); i++) {
+            out[i] = AdaBoostM1.argMax(sum, i * classCount, (i + 1) *
+                    classCount);
+        }//end for
+    }
+
+    /**
+     * Gets the output value of a class id of this AdaBoostM1 model.
+     * @param id A class id, in range [0, number of output values).
+     * @return The output value with the given class id.
+     */
+    @Override
+    public @NotNull Y label(int id) {
+        return this.labels.value(id);
+    }
+
+    /**
+     * Creates an AdaBoostM1 model with the same betas, class ids and early-exit
+     * mode as this one, whose weak Classifier's' are replaced by a function,
+     * e.g. by compiled versions with the same predictions. The new model has
+     * no training state.
+     * @param replacement A function that returns the weak Classifier to use
+     * instead of a weak Classifier of this model. The returned Classifier
+     * must predict the same class ids.
+     * @return The new AdaBoostM1 model.
+     */
+    @NotNull AdaBoostM1<Y> replaceHypotheses(@NotNull UnaryOperator<
+            IndexedClassifier<Y>> replacement) {
+        List<IndexedClassifier<Y>> replaced = new ArrayList<>(this.h.size());
+        for (IndexedClassifier<Y> classifier : this.h) {
+            replaced.add(replacement.apply(classifier));
+        }//end for
+
+        AdaBoostM1<Y> model = new AdaBoostM1<>(this.labels, replaced, this.b);
+        model.setEarlyExit(this.isEarlyExit);
+        return model;
+    }
+
+    /**
+     * Gets the number of boosting rounds of this AdaBoostM1 model.
+     * @return The number of weak Classifier's' used for prediction.
+     */
+    public int rounds() {
+        return this.h.size();
+    }
+
+    /**
+     * Finds the index of the maximum element of a range of an array. Breaks
+     * ties in favor of the smallest index.
+     * @param values An array.
+     * @param from The index of the 1st element of the range.
+     * @param to The index after the last element of the range.
+     * @return The index of the maximum element of the range, relative to from.
+     */
+    private static int argMax(@NotNull double[] values, int from, int to) {
+        int max = from;
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] > values[max]) {
+                max = i;
+            }//end if
+        }//end for
 
-        return hfin;
+        return max - from;
     }
 
-}//end class AdaBoostM1
\ No newline at end of file
+}//end class AdaBoostM1
@@ -43,7 +43,7 @@ public class AdaHeartTest {
         Collection<Record<String>> trainRecords =
                 AdaHeartTest.constructRecords(header, trainStrRecords);
         //Creates a DecisionTree with the training records
-        AdaBoostM1<String> dt = new AdaBoostM1<>(trainRecords, DecisionStump::new, 10);
+        AdaBoostM1<String> dt = new AdaBoostM1<>(trainRecords, DecisionStump.generator(), 10);
 
         //A List with all the evaluation records
         List<List<String>> evalStrRecords =
@@ -0,0 +1,121 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Represents a sampler of indices with replacement, in proportion to their
+ * weights, by Walker's alias method (in Vose's form). The setup is O(m), for m
+ * weights, and every draw is O(1): a uniform index and a single biased coin
+ * flip, that keeps the index or takes its alias.
+ */
+public class AliasSampler {
+
+    /**
+     * The probability of keeping every index, instead of taking its alias.
+     */
+    private final double[] prob;
+
+    /**
+     * The alias of every index.
+     */
+    private final int[] alias;
+
+    /**
+     * Creates an AliasSampler, given the weights of its indices.
+     * @param weights The weight of every index. They do not need to sum to 1.
+     * @throws IllegalArgumentException If weights.length == 0.
+     * @throws IllegalArgumentException If a weight is negative, or is not
+     * finite.
+     * @throws IllegalArgumentException If all the weights are 0.
+     */
+    public AliasSampler(@NotNull double[] weights) {
+        int m = weights.length;
+        //Validates that there is at least 1 index
+        if (m == 0) {
+            throw new IllegalArgumentException("Argument weights must contain " +
+                    "at least 1 element.");
+        }//end if
+
+        double total = 0.0;
+        for (double w : weights) {
+            //Validates that the weight is finite and non-negative
+            if (!(w >= 0.0) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Argument weights must " +
+                        "contain finite values >= 0.");
+            }//end if
+
+            total += w;
+        }//end for
+
+        //Validates that at least 1 index can be drawn
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("Argument weights must have a " +
+                    "sum > 0.");
+        }//end if
+
+        this.prob = new double[m];
+        this.alias = new int[m];
+        //The weights scaled to a mean of 1
+        double[] scaled = new double[m];
+        //The indices with a scaled weight < 1 (small) and >= 1 (large), as
+        //stacks
+        int[] small = new int[m];
+        int[] large = new int[m];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < m; i++) {
+            scaled[i] = weights[i] * m / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }//end if
+        }//end for
+
+        //Fills the column of every small index with a large one, which gives
+        //away the missing weight
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            this.prob[s] = scaled[s];
+            this.alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small[smallCount++] = l;
+            } else {
+                large[largeCount++] = l;
+            }//end if
+        }//end while
+
+        //The remaining indices are full columns, up to rounding
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            this.prob[l] = 1.0;
+            this.alias[l] = l;
+        }//end while
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            this.prob[s] = 1.0;
+            this.alias[s] = s;
+        }//end while
+    }
+
+    /**
+     * Draws an index, with a probability proportional to its weight.
+     * @param random The source of randomness.
+     * @return An index, in range [0, size()).
+     */
+    public int next(@NotNull Random random) {
+        int i = random.nextInt(this.prob.length);
+        return random.nextDouble() < this.prob[i] ? i : this.alias[i];
+    }
+
+    /**
+     * Gets the number of indices of this AliasSampler.
+     * @return The number of weights this AliasSampler was created with.
+     */
+    public int size() {
+        return this.prob.length;
+    }
+
+}//end class AliasSampler
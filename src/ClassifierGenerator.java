@@ -0,0 +1,54 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Represents a learner that generates a weak Classifier for a boosting round,
+ * from a Dataset and the current sample weights of its rows.
+ * @param <Y> The type of the output variable (class/category) of the rows of
+ * the Dataset.
+ */
+@FunctionalInterface
+public interface ClassifierGenerator<Y> {
+
+    /**
+     * Generates a Classifier, trained on the weighted rows of a Dataset. If the
+     * generated Classifier is an IndexedClassifier, the class ids it predicts
+     * must be the class ids of the label Dictionary of the Dataset.
+     * @param dataset The Dataset with the training rows.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row. It must not be modified, nor kept after the call, since the
+     * caller may reuse it.
+     * @return A Classifier trained on the weighted rows.
+     */
+    @NotNull Classifier<Y> generate(@NotNull Dataset<Y> dataset,
+            @NotNull double[] weights);
+
+    /**
+     * Generates a Hypothesis, i.e. a Classifier trained on the weighted rows
+     * of a Dataset, with the bitset of the rows it classifies correctly. By
+     * default, the generated Classifier predicts all the rows of block once,
+     * to create the bitset. A learner that knows its predictions on the
+     * training rows from training should override it, to skip that pass. A
+     * Classifier that is not an IndexedClassifier predicts the rows one by one,
+     * through IndexedClassifier.of(Classifier, Dictionary).
+     * @param dataset The Dataset with the training rows.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row. It must not be modified, nor kept after the call, since the
+     * caller may reuse it.
+     * @param block A Supplier of the rows of dataset, as a ColumnBlock in the
+     * same order. It is called only by a learner that predicts the ColumnBlock,
+     * so that the ColumnBlock is built only if it is needed.
+     * @return A Hypothesis trained on the weighted rows.
+     */
+    default @NotNull Hypothesis<Y> train(@NotNull Dataset<Y> dataset,
+            @NotNull double[] weights, @NotNull Supplier<ColumnBlock> block) {
+        IndexedClassifier<Y> classifier = IndexedClassifier.of(this.generate(
+                dataset, weights), dataset.getLabels());
+        int[] predicted = new int[dataset.size()];
+        classifier.predict(block.get(), predicted);
+        return new Hypothesis<>(classifier, Hypothesis.mask(predicted,
+                dataset.targets()));
+    }
+
+}//end interface ClassifierGenerator
@@ -0,0 +1,265 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a block of rows to be classified, stored by column. A continuous
+ * Feature is held in a double[] column and a discrete one in an Object[] column
+ * of its raw values, keyed by their title. A ColumnBlock has no target values.
+ */
+public class ColumnBlock {
+
+    /**
+     * The number of rows of this ColumnBlock.
+     */
+    private final int size;
+
+    /**
+     * A Map with keys the titles of the continuous Feature's' and values their
+     * columns.
+     */
+    private final Map<String, double[]> continuous = new HashMap<>();
+
+    /**
+     * A Map with keys the titles of the discrete Feature's' and values their
+     * columns.
+     */
+    private final Map<String, Object[]> discrete = new HashMap<>();
+
+    /**
+     * Creates an empty ColumnBlock, given its number of rows. Its columns are
+     * added with put(String, double[]) and put(String, Object[]).
+     * @param size The number of rows of this ColumnBlock.
+     * @throws IllegalArgumentException If size < 0.
+     */
+    public ColumnBlock(int size) {
+        //Validates that size >= 0
+        if (size < 0) {
+            throw new IllegalArgumentException("Argument size must be >= 0.");
+        }//end if
+
+        this.size = size;
+    }
+
+    /**
+     * Creates a ColumnBlock, given its columns and their Feature.Generator's'.
+     * @param generators A List with the Feature.Generator's' of the columns.
+     * @param columns A List of columns, with each column containing the values
+     * of all the rows, for the Feature of the Feature.Generator at the same
+     * index. All the columns must have the same size.
+     * @throws IllegalArgumentException If generators.size() != columns.size(),
+     * or columns.isEmpty() == true.
+     * @throws IllegalArgumentException If the columns do not have the same
+     * size, or a continuous column contains a value that is not a Number.
+     */
+    public ColumnBlock(@NotNull List<? extends Feature.Generator<?>> generators,
+            @NotNull List<? extends List<?>> columns) {
+        //Validates that every Feature.Generator has a column
+        if (generators.size() != columns.size() || columns.isEmpty()) {
+            throw new IllegalArgumentException("Arguments generators and " +
+                    "columns must have the same, non zero, size.");
+        }//end if
+
+        this.size = columns.get(0).size();
+        for (int f = 0; f < generators.size(); f++) {
+            List<?> column = columns.get(f);
+            //Checks if the current Feature is continuous
+            if (generators.get(f).getType() == Feature.Type.CONTINUOUS) {
+                double[] values = new double[column.size()];
+                for (int i = 0; i < values.length; i++) {
+                    //Validates that the current value is a Number
+                    if (!(column.get(i) instanceof Number)) {
+                        throw new IllegalArgumentException("The data of " +
+                                "continuous Feature " + generators.get(f)
+                                .getTitle() + " must be a Number.");
+                    }//end if
+
+                    values[i] = ((Number) column.get(i)).doubleValue();
+                }//end for
+
+                this.put(generators.get(f).getTitle(), values);
+            } else {
+                this.put(generators.get(f).getTitle(), column.toArray());
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Creates a ColumnBlock with all the rows of a Dataset, without their
+     * target values. The continuous columns are shared with the Dataset, not
+     * copied, while a quantized Feature is given the upper bound of the bin of
+     * every row, which compares to any bin bound the same way as the original
+     * value.
+     * @param dataset A Dataset.
+     */
+    public ColumnBlock(@NotNull Dataset<?> dataset) {
+        this.size = dataset.size();
+        for (int f = 0; f < dataset.featureCount(); f++) {
+            //Checks if the current Feature is discrete
+            if (dataset.type(f) == Feature.Type.DISCRETE) {
+                int[] codes = dataset.discrete(f);
+                Object[] values = new Object[this.size];
+                for (int r = 0; r < this.size; r++) {
+                    values[r] = dataset.value(f, codes[r]);
+                }//end for
+
+                this.put(dataset.title(f), values);
+            } else if (dataset.isBinned(f)) {
+                byte[] bins = dataset.bins(f);
+                double[] values = new double[this.size];
+                for (int r = 0; r < this.size; r++) {
+                    values[r] = dataset.binBound(f, bins[r] & 0xFF);
+                }//end for
+
+                this.put(dataset.title(f), values);
+            } else {
+                this.put(dataset.title(f), dataset.continuous(f));
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Adds the column of a continuous Feature to this ColumnBlock. The given
+     * array is not copied.
+     * @param title The title of the continuous Feature.
+     * @param column The values of the continuous Feature, for all the rows.
+     * @throws IllegalArgumentException If column.length != size().
+     */
+    public void put(@NotNull String title, @NotNull double[] column) {
+        this.validateSize(column.length);
+        this.continuous.put(title, column);
+        this.discrete.remove(title);
+    }
+
+    /**
+     * Adds the column of a discrete Feature to this ColumnBlock. The given
+     * array is not copied.
+     * @param title The title of the discrete Feature.
+     * @param column The values of the discrete Feature, for all the rows.
+     * @throws IllegalArgumentException If column.length != size().
+     */
+    public void put(@NotNull String title, @NotNull Object[] column) {
+        this.validateSize(column.length);
+        this.discrete.put(title, column);
+        this.continuous.remove(title);
+    }
+
+    /**
+     * Validates the size of a column of this ColumnBlock.
+     * @param length The size of a column.
+     * @throws IllegalArgumentException If length != size().
+     */
+    private void validateSize(int length) {
+        //Validates that length == this.size
+        if (length != this.size) {
+            throw new IllegalArgumentException("All the columns of a " +
+                    "ColumnBlock must have " + this.size + " values.");
+        }//end if
+    }
+
+    /**
+     * Gets the number of rows of this ColumnBlock.
+     * @return The number of rows of this ColumnBlock.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the column of a continuous Feature. The returned array is not a
+     * copy, and must not be modified.
+     * @param title The title of a continuous Feature.
+     * @return The column of the continuous Feature with the given title.
+     * @throws IllegalArgumentException If this ColumnBlock has no continuous
+     * column with the given title.
+     */
+    public @NotNull double[] continuous(@NotNull String title) {
+        double[] column = this.continuous.get(title);
+        //Validates that the column exists
+        if (column == null) {
+            throw new IllegalArgumentException("ColumnBlock has no " +
+                    "continuous column " + title + ".");
+        }//end if
+
+        return column;
+    }
+
+    /**
+     * Gets the column of a discrete Feature. The returned array is not a copy,
+     * and must not be modified.
+     * @param title The title of a discrete Feature.
+     * @return The column of the discrete Feature with the given title.
+     * @throws IllegalArgumentException If this ColumnBlock has no discrete
+     * column with the given title.
+     */
+    public @NotNull Object[] discrete(@NotNull String title) {
+        Object[] column = this.discrete.get(title);
+        //Validates that the column exists
+        if (column == null) {
+            throw new IllegalArgumentException("ColumnBlock has no discrete " +
+                    "column " + title + ".");
+        }//end if
+
+        return column;
+    }
+
+    /**
+     * Creates the Record of a row of this ColumnBlock, with no target value,
+     * for a Classifier that predicts a single Record at a time. A continuous
+     * Feature is given its value as a Double, and a discrete one its raw
+     * value.
+     * @param row The index of a row, in range [0, size()).
+     * @param <T> The type of the output variable (class/category) of the
+     * Record.
+     * @return A Record with a Feature per column of this ColumnBlock.
+     * @throws IllegalArgumentException If row < 0 or row >= size().
+     * @throws IllegalArgumentException If this ColumnBlock has no columns, or
+     * a discrete value of the row is not Comparable.
+     */
+    public @NotNull <T> Record<T> record(int row) {
+        //Validates that 0 <= row < size
+        if (row < 0 || row >= this.size) {
+            throw new IllegalArgumentException("Argument row must be in range " +
+                    "[0, size()).");
+        }//end if
+
+        List<Feature<?>> features = new ArrayList<>(this.continuous.size() +
+                this.discrete.size());
+        for (Map.Entry<String, double[]> column : this.continuous.entrySet()) {
+            features.add(new Feature<>(column.getKey(), column.getValue()[row],
+                    Feature.Type.CONTINUOUS));
+        }//end for
+
+        for (Map.Entry<String, Object[]> column : this.discrete.entrySet()) {
+            features.add(ColumnBlock.discrete(column.getKey(),
+                    column.getValue()[row]));
+        }//end for
+
+        return new Record<>(features, null);
+    }
+
+    /**
+     * Creates a discrete Feature, given its raw value.
+     * @param title The title of the Feature.
+     * @param value The raw value of the Feature.
+     * @return A discrete Feature with the given value.
+     * @throws IllegalArgumentException If value is not Comparable.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static @NotNull Feature<?> discrete(@NotNull String title,
+            @NotNull Object value) {
+        //Validates that the value can be the data of a Feature
+        if (!(value instanceof Comparable)) {
+            throw new IllegalArgumentException("The value of discrete " +
+                    "Feature " + title + " must be Comparable.");
+        }//end if
+
+        //The value is the data of a Feature<T>, so it is Comparable to its own
+        //type T, which is erased here
+        return new Feature(title, (Comparable) value, Feature.Type.DISCRETE);
+    }
+
+}//end class ColumnBlock
@@ -0,0 +1,525 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Represents a trained DecisionTree, flattened into parallel primitive arrays.
+ * Node i examines the Feature at slot feature[i] (-1 for a leaf), and its
+ * child Nodes are listed in children[childOffset[i]] ...
+ * children[childOffset[i] + arity[i] - 1]. A continuous Node has 2 children,
+ * for values <= threshold[i] and > threshold[i], while a discrete Node has a
+ * child per value code of its Feature. Missing children are -1. A CompactTree
+ * keeps no Table, no Record and no Dataset column, so its footprint is
+ * proportional to its number of Nodes.
+ * @param <T> The type of the output variable (class/category) of the Record's'
+ * this CompactTree classifies.
+ */
+public class CompactTree<T> {
+
+    /**
+     * The number of rows that descend the tree together, in predictClasses.
+     */
+    private static final int CHUNK = 256;
+
+    /**
+     * The titles of the Feature's' of the training Dataset, indexed by slot.
+     */
+    private final String[] titles;
+
+    /**
+     * A Dictionary per discrete Feature of the training Dataset, with its
+     * values and their codes. Contains null at the slots of the continuous
+     * Feature's'.
+     */
+    private final List<Dictionary<Object>> codes;
+
+    /**
+     * Indicates if the Feature at every slot of the training Dataset is
+     * discrete.
+     */
+    private final boolean[] isDiscrete;
+
+    /**
+     * The Dictionary of the target values of the training Dataset, with their
+     * class ids.
+     */
+    private final Dictionary<T> labels;
+
+    /**
+     * The slot of the Feature every Node examines, or -1 for the leaves.
+     */
+    private final int[] feature;
+
+    /**
+     * The split bound of every continuous Node, or NaN for the other Nodes.
+     */
+    private final double[] threshold;
+
+    /**
+     * The position in children array of the 1st child of every Node.
+     */
+    private final int[] childOffset;
+
+    /**
+     * The number of children entries of every Node.
+     */
+    private final int[] arity;
+
+    /**
+     * The indices of the child Nodes of all the Nodes, or -1 for a missing
+     * child.
+     */
+    private final int[] children;
+
+    /**
+     * The class id of the dominant target value of every Node. It is the
+     * prediction of a leaf, or of a Node with no child for a given value.
+     */
+    private final int[] dominant;
+
+    /**
+     * The relative (weighted) frequency of every class id in the training rows
+     * of every Node. The distribution of Node i is stored in the positions
+     * [i * classCount(), (i + 1) * classCount()).
+     */
+    private final double[] distribution;
+
+    /**
+     * The row of primitive slots of every thread, that a single Record is
+     * encoded into by encode(Record), so predicting a Record allocates no row.
+     */
+    private final ThreadLocal<double[]> rows;
+
+    /**
+     * Flattens a trained tree, given its root Node. The Nodes are numbered in
+     * breadth-first order, so the root Node is Node 0.
+     * @param root The root Node of a trained tree.
+     */
+    public CompactTree(@NotNull Node<T> root) {
+        Dataset<T> dataset = root.getTable().getDataset();
+        this.titles = new String[dataset.featureCount()];
+        this.isDiscrete = new boolean[dataset.featureCount()];
+        this.codes = new ArrayList<>(dataset.featureCount());
+        for (int f = 0; f < this.titles.length; f++) {
+            this.titles[f] = dataset.title(f);
+            this.isDiscrete[f] = dataset.type(f) == Feature.Type.DISCRETE;
+            this.codes.add(this.isDiscrete[f] ? dataset.dictionary(f) : null);
+        }//end for
+
+        this.labels = dataset.getLabels();
+        int slotCount = this.titles.length;
+        this.rows = ThreadLocal.withInitial(() -> new double[slotCount]);
+
+        //The Nodes in breadth-first order, and the number of children entries
+        List<Node<T>> nodes = new ArrayList<>();
+        int childCount = 0;
+        nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node<T> node = nodes.get(i);
+            childCount += node.arity();
+            nodes.addAll(node.getChildNodes());
+        }//end for
+
+        this.feature = new int[nodes.size()];
+        this.threshold = new double[nodes.size()];
+        this.childOffset = new int[nodes.size()];
+        this.arity = new int[nodes.size()];
+        this.children = new int[childCount];
+        this.dominant = new int[nodes.size()];
+        this.distribution = new double[nodes.size() * this.labels.size()];
+
+        //The index of every Node
+        Map<Node<T>, Integer> index = new IdentityHashMap<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }//end for
+
+        //The position in children array of the next child
+        int offset = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            Node<T> node = nodes.get(i);
+            this.dominant[i] = node.dominantClass();
+            //The frequency of every class id in the current Node
+            double[] freq = node.getTable().classFreq();
+            //The total weight of the rows of the current Node
+            double weight = node.getTable().weight();
+            for (int c = 0; c < freq.length; c++) {
+                this.distribution[i * this.labels.size() + c] = weight > 0.0 ?
+                        freq[c] / weight : 0.0;
+            }//end for
+            this.threshold[i] = Double.NaN;
+            this.childOffset[i] = offset;
+            int f = node.getFeature();
+            this.feature[i] = f;
+            //Checks if the current Node is a leaf
+            if (f < 0) {
+                continue;
+            }//end if
+
+            //Checks if the current Node examines a continuous Feature
+            if (!this.isDiscrete[f]) {
+                this.threshold[i] = node.getTable().bound(f);
+            }//end if
+
+            //The children of a Node are already indexed by position
+            this.arity[i] = node.arity();
+            for (int b = 0; b < this.arity[i]; b++) {
+                this.children[offset++] = CompactTree.indexOf(index,
+                        node.child(b));
+            }//end for
+        }//end for
+    }
+
+    /**
+     * Gets the index of a Node.
+     * @param index A Map with the index of every Node.
+     * @param node A Node, or null.
+     * @return The index of the given Node, or -1 if it is null.
+     */
+    private static int indexOf(@NotNull Map<?, Integer> index, Node<?> node) {
+        return node == null ? -1 : index.get(node);
+    }
+
+    /**
+     * Gets the number of Nodes of this CompactTree.
+     * @return The number of Nodes of this CompactTree.
+     */
+    public int size() {
+        return this.feature.length;
+    }
+
+    /**
+     * Gets the slot of a Feature, in the rows this CompactTree classifies.
+     * @param title The title of a Feature.
+     * @return The slot of the Feature with the given title, or -1 if the
+     * training Dataset had no such Feature.
+     */
+    public int slot(@NotNull String title) {
+        for (int f = 0; f < this.titles.length; f++) {
+            if (this.titles[f].equals(title)) {
+                return f;
+            }//end if
+        }//end for
+
+        return -1;
+    }
+
+    /**
+     * Gets the number of slots of the rows this CompactTree classifies.
+     * @return The number of Feature's' of the training Dataset.
+     */
+    public int slotCount() {
+        return this.titles.length;
+    }
+
+    /**
+     * Encodes a Record into a row of primitive slots, that can be classified by
+     * predictClass(double[]). A continuous Feature is stored as its value, and
+     * a discrete one as its value code, or -1 if the value was never seen in
+     * training.
+     * @param record A Record to encode. It must contain all the Feature's' of
+     * the training Dataset.
+     * @param row An array with at least slotCount() elements, to store the
+     * encoded Record in.
+     */
+    public void encode(@NotNull Record<T> record, @NotNull double[] row) {
+        for (int f = 0; f < this.titles.length; f++) {
+            Object value = record.getFeature(this.titles[f]).getData();
+            row[f] = this.isDiscrete[f] ? this.codes.get(f).id(value) :
+                    ((Number) value).doubleValue();
+        }//end for
+    }
+
+    /**
+     * Encodes a Record into the row of primitive slots of the calling thread.
+     * The row is reused by every call in the same thread, so it must be
+     * classified before the next call.
+     * @param record A Record to encode. It must contain all the Feature's' of
+     * the training Dataset.
+     * @return The row of the calling thread, with the encoded Record.
+     */
+    @NotNull double[] encode(@NotNull Record<T> record) {
+        double[] row = this.rows.get();
+        this.encode(record, row);
+        return row;
+    }
+
+    /**
+     * Finds the Node that classifies a row of primitive slots. The path stops
+     * at a leaf, or at a Node with no child for the value of the row. It makes
+     * no allocation and no lookup by title.
+     * @param row A row encoded by encode(Record, double[]).
+     * @return The index of the Node that classifies the given row.
+     */
+    public int predictNode(@NotNull double[] row) {
+        //The current Node
+        int node = 0;
+        //The slot of the Feature the current Node examines
+        int f;
+        while ((f = this.feature[node]) >= 0) {
+            //The position of the child to branch to, among the children of
+            //the current Node
+            int branch;
+            //Checks if the current Node examines a discrete Feature
+            if (this.isDiscrete[f]) {
+                branch = (int) row[f];
+                //Checks if the value code has no child
+                if (branch < 0 || branch >= this.arity[node]) {
+                    break;
+                }//end if
+            } else {
+                branch = row[f] <= this.threshold[node] ? 0 : 1;
+            }//end if
+
+            //The child Node to branch to
+            int child = this.children[this.childOffset[node] + branch];
+            //Checks if there is no child for the value of the row
+            if (child < 0) {
+                break;
+            }//end if
+
+            node = child;
+        }//end while
+
+        return node;
+    }
+
+    /**
+     * Predicts/Classifies the class id of a row of primitive slots, in O(1)
+     * time after the path is followed, from the precomputed dominant class id
+     * of the Node that classifies it.
+     * @param row A row encoded by encode(Record, double[]).
+     * @return The class id of the predicted output value of the given row.
+     */
+    public int predictClass(@NotNull double[] row) {
+        return this.dominant[this.predictNode(row)];
+    }
+
+    /**
+     * Predicts the probability of every class id for a row of primitive slots,
+     * from the precomputed class distribution of the Node that classifies it.
+     * @param row A row encoded by encode(Record, double[]).
+     * @param out An array with at least classCount() elements, to store the
+     * probability of every class id in.
+     */
+    public void predictDistribution(@NotNull double[] row,
+            @NotNull double[] out) {
+        System.arraycopy(this.distribution, this.predictNode(row) *
+                this.labels.size(), out, 0, this.labels.size());
+    }
+
+    /**
+     * Gets the probability of a class id in the training rows of a Node.
+     * @param node The index of a Node, returned by predictNode(double[]).
+     * @param id A class id, in range [0, classCount()).
+     * @return The relative (weighted) frequency of the class id in the Node.
+     */
+    double probability(int node, int id) {
+        return this.distribution[node * this.labels.size() + id];
+    }
+
+    /**
+     * Gets the number of distinct target values of the training Dataset.
+     * @return The number of class ids of this CompactTree.
+     */
+    public int classCount() {
+        return this.labels.size();
+    }
+
+    /**
+     * Gets the target value of a class id.
+     * @param id A class id, returned by predictClass(double[]).
+     * @return The target value with the given class id.
+     */
+    public @NotNull T label(int id) {
+        return this.labels.value(id);
+    }
+
+    /**
+     * Gets the slot of the Feature a Node examines.
+     * @param node The index of a Node.
+     * @return The slot of the Feature of the Node, or -1 if it is a leaf.
+     */
+    int feature(int node) {
+        return this.feature[node];
+    }
+
+    /**
+     * Indicates if the Feature of a slot is discrete.
+     * @param f A slot.
+     * @return True if the Feature of the slot is discrete, otherwise false.
+     */
+    boolean isDiscrete(int f) {
+        return this.isDiscrete[f];
+    }
+
+    /**
+     * Gets the split bound of a Node that examines a continuous Feature.
+     * @param node The index of a Node.
+     * @return The bound of the low child of the Node.
+     */
+    double threshold(int node) {
+        return this.threshold[node];
+    }
+
+    /**
+     * Gets the number of child positions of a Node.
+     * @param node The index of a Node.
+     * @return 2 for a continuous Node, or the number of value codes for a
+     * discrete one.
+     */
+    int arity(int node) {
+        return this.arity[node];
+    }
+
+    /**
+     * Gets a child of a Node.
+     * @param node The index of a Node.
+     * @param branch The position of the child, in range [0, arity(node)).
+     * @return The index of the child Node, or -1 if it is missing.
+     */
+    int child(int node, int branch) {
+        return this.children[this.childOffset[node] + branch];
+    }
+
+    /**
+     * Gets the dominant class id of a Node.
+     * @param node The index of a Node.
+     * @return The class id that the Node predicts.
+     */
+    int dominant(int node) {
+        return this.dominant[node];
+    }
+
+    /**
+     * Encodes a ColumnBlock into columns of primitive slots, that can be
+     * classified by predictClasses. The column of a continuous Feature is used
+     * as it is, without a copy, while the column of a discrete one is encoded
+     * once into value codes, with -1 for the values never seen in training.
+     * @param block A ColumnBlock with all the Feature's' of the training
+     * Dataset.
+     * @return The columns of the ColumnBlock, indexed by slot.
+     */
+    public @NotNull double[][] encode(@NotNull ColumnBlock block) {
+        double[][] slots = new double[this.titles.length][];
+        for (int f = 0; f < this.titles.length; f++) {
+            //Checks if the current Feature is continuous
+            if (!this.isDiscrete[f]) {
+                slots[f] = block.continuous(this.titles[f]);
+                continue;
+            }//end if
+
+            Object[] values = block.discrete(this.titles[f]);
+            slots[f] = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                slots[f][i] = this.codes.get(f).id(values[i]);
+            }//end for
+        }//end for
+
+        return slots;
+    }
+
+    /**
+     * Encodes the rows of a Dataset into columns of primitive slots, that can
+     * be classified by predictClasses. The column of a continuous Feature is
+     * used as it is, without a copy, the column of a quantized one is mapped
+     * to the upper bounds of its bins, and the value codes of a discrete one
+     * are used as they are, since the Dataset shares the Dictionary's' of the
+     * training Dataset. No value is decoded or hashed.
+     * @param dataset A Dataset with the schema of the training Dataset, e.g.
+     * the training Dataset itself, or a subset of it.
+     * @return The columns of the Dataset, indexed by slot.
+     */
+    public @NotNull double[][] encode(@NotNull Dataset<?> dataset) {
+        double[][] slots = new double[this.titles.length][];
+        for (int f = 0; f < this.titles.length; f++) {
+            int slot = dataset.slot(this.titles[f]);
+            slots[f] = new double[dataset.size()];
+            //Checks if the current Feature is discrete
+            if (this.isDiscrete[f]) {
+                int[] column = dataset.discrete(slot);
+                for (int i = 0; i < column.length; i++) {
+                    slots[f][i] = column[i];
+                }//end for
+            } else if (dataset.isBinned(slot)) {
+                byte[] column = dataset.bins(slot);
+                for (int i = 0; i < column.length; i++) {
+                    slots[f][i] = dataset.binBound(slot, column[i] & 0xFF);
+                }//end for
+            } else {
+                slots[f] = dataset.continuous(slot);
+            }//end if
+        }//end for
+
+        return slots;
+    }
+
+    /**
+     * Predicts/Classifies the class ids of the rows [from, to) of columns of
+     * primitive slots. The rows are processed in chunks, and all the rows of a
+     * chunk advance 1 level of the tree together, so that the Nodes of the top
+     * levels stay in cache, and the loads of different rows overlap.
+     * @param slots Columns encoded by encode(ColumnBlock).
+     * @param from The index of the 1st row to classify.
+     * @param to The index after the last row to classify.
+     * @param out An array to store the class id of row i at index i.
+     */
+    public void predictClasses(@NotNull double[][] slots, int from, int to,
+            @NotNull int[] out) {
+        //The current Node of every row of a chunk
+        int[] nodes = new int[CompactTree.CHUNK];
+        for (int start = from; start < to; start += CompactTree.CHUNK) {
+            int end = Math.min(start + CompactTree.CHUNK, to);
+            //The number of rows of the chunk that are still descending
+            int active = end - start;
+            Arrays.fill(nodes, 0);
+            while (active > 0) {
+                active = 0;
+                for (int i = start; i < end; i++) {
+                    int node = nodes[i - start];
+                    //Checks if the row has reached a leaf, or has stopped at an
+                    //internal Node, marked with ~node
+                    if (node < 0 || this.feature[node] < 0) {
+                        continue;
+                    }//end if
+
+                    int f = this.feature[node];
+
+                    double x = slots[f][i];
+                    //The position of the child to branch to
+                    int branch = this.isDiscrete[f] ? (int) x :
+                            x <= this.threshold[node] ? 0 : 1;
+                    //The child Node to branch to
+                    int child = branch < 0 || branch >= this.arity[node] ? -1 :
+                            this.children[this.childOffset[node] + branch];
+                    //Checks if there is no child for the value of the row, so
+                    //the row stops at the current Node
+                    if (child < 0) {
+                        nodes[i - start] = ~node;
+                        continue;
+                    }//end if
+
+                    nodes[i - start] = child;
+                    active++;
+                }//end for
+            }//end while
+
+            for (int i = start; i < end; i++) {
+                int node = nodes[i - start];
+                out[i] = this.dominant[node < 0 ? ~node : node];
+            }//end for
+        }//end for
+    }
+
+    /**
+     * Predicts/Classifies the output value of a given Record. The Record is
+     * encoded into the row of the calling thread, and the path is followed by
+     * predictClass.
+     * @param record A Record to predict its output value.
+     * @return The predicted output value of the given Record.
+     */
+    public @NotNull T predict(@NotNull Record<T> record) {
+        return this.label(this.predictClass(this.encode(record)));
+    }
+
+}//end class CompactTree
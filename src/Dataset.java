@@ -0,0 +1,890 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Represents a columnar store of training data. Every Feature is held in a
+ * single primitive column, a double[] for the continuous Feature's' and an
+ * int[] of value codes for the discrete ones, and the target values are held
+ * in an int[] of class ids. The schema (titles and types of the Feature's') is
+ * resolved once, when this Dataset is created.
+ * @param <T> The type of the output variable (class/category) of the rows of
+ * this Dataset.
+ */
+public class Dataset<T> {
+
+    /**
+     * The titles of the Feature's' of this Dataset, indexed by their slot.
+     */
+    private final String[] titles;
+
+    /**
+     * The types of the Feature's' of this Dataset, indexed by their slot.
+     */
+    private final Feature.Type[] types;
+
+    /**
+     * A Map with keys the titles of the Feature's' of this Dataset and values
+     * their slots.
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * The columns of the continuous Feature's', indexed by their slot. Contains
+     * null at the slots of the discrete Feature's'.
+     */
+    private final double[][] continuous;
+
+    /**
+     * The columns of value codes of the discrete Feature's', indexed by their
+     * slot. Contains null at the slots of the continuous Feature's'.
+     */
+    private final int[][] discrete;
+
+    /**
+     * The row indices of every continuous Feature, sorted by its value, indexed
+     * by its slot. Contains null at the slots of the discrete Feature's'. It is
+     * computed once, when this Dataset is created, so that no Table ever has to
+     * sort a column again.
+     */
+    private final int[][] sorted;
+
+    /**
+     * The columns of bin indices of the quantized continuous Feature's',
+     * indexed by their slot. Every cell is an unsigned byte. Contains null at
+     * the slots of the Feature's' that are not quantized.
+     */
+    private final byte[][] bins;
+
+    /**
+     * The upper (included) bounds of the bins of the quantized continuous
+     * Feature's', in ascending order, indexed by their slot. Contains null at
+     * the slots of the Feature's' that are not quantized.
+     */
+    private final double[][] binBounds;
+
+    /**
+     * A Dictionary per discrete Feature, with its distinct values and their
+     * codes. Contains null at the slots of the continuous Feature's'.
+     */
+    private final List<Dictionary<Object>> dictionaries;
+
+    /**
+     * The class ids of the target values of the rows of this Dataset.
+     */
+    private final int[] targets;
+
+    /**
+     * The Dictionary of the distinct target values of this Dataset, with their
+     * class ids.
+     */
+    private final Dictionary<T> labels;
+
+    /**
+     * Creates a Dataset, given its Record's'. The schema of this Dataset is
+     * resolved from an arbitrary Record of the given Collection.
+     * @param records The Record's' of this Dataset. All the Record's' must
+     * contain the same semantic Features.
+     * @throws IllegalArgumentException If records.isEmpty() == true.
+     * @throws IllegalArgumentException If there is at least 1 Record in records
+     * Collection with a null target value.
+     * @throws IllegalArgumentException If there is at least 1 continuous
+     * Feature whose data is not a Number.
+     */
+    public Dataset(@NotNull Collection<Record<T>> records) {
+        //Validates that there is at least 1 element in records Collection
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Argument Collection records " +
+                    "must contain at least 1 element.");
+        }//end if
+
+        //Gets a Record from records Collection, to resolve the schema
+        Record<T> templateRecord = records.iterator().next();
+        //The titles of the Feature's', in a deterministic order
+        List<String> titles = new ArrayList<>(templateRecord.getFeatures()
+                                                            .keySet());
+        Collections.sort(titles);
+        //The types of the Feature's', in the order of titles List
+        List<Feature.Type> types = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            types.add(templateRecord.getFeatures().get(title).getType());
+        }//end for
+
+        this.titles = titles.toArray(new String[0]);
+        this.types = types.toArray(new Feature.Type[0]);
+        this.slots = new HashMap<>(this.titles.length);
+        this.continuous = new double[this.titles.length][];
+        this.discrete = new int[this.titles.length][];
+        this.sorted = new int[this.titles.length][];
+        this.bins = new byte[this.titles.length][];
+        this.binBounds = new double[this.titles.length][];
+        this.dictionaries = new ArrayList<>(this.titles.length);
+        this.targets = new int[records.size()];
+        this.labels = new Dictionary<>();
+        this.initColumns(records.size());
+
+        //The index of the current row
+        int row = 0;
+        //Populates the columns, one Record at a time
+        for (Record<T> r : records) {
+            //Populates the cells of the current row
+            for (int f = 0; f < this.titles.length; f++) {
+                this.setCell(f, row, r.getFeatures()
+                                      .get(this.titles[f])
+                                      .getData());
+            }//end for
+
+            this.setTarget(row, r.getTarget());
+            row++;
+        }//end for
+
+        this.presort();
+    }
+
+    /**
+     * Creates a Dataset, given its columns, the Feature.Generator's' of its
+     * columns and the target values of its rows. No Record is created.
+     * @param generators A List with the Feature.Generator's' of the columns.
+     * Their titles and types form the schema of this Dataset.
+     * @param columns A List of columns, with each column containing the values
+     * of all the rows, for the Feature of the Feature.Generator at the same
+     * index.
+     * @param targets A List with the target values of the rows.
+     * @throws IllegalArgumentException If targets.isEmpty() == true.
+     * @throws IllegalArgumentException If generators.size() != columns.size(),
+     * or a column does not have targets.size() values.
+     * @throws IllegalArgumentException If there is at least 1 null target
+     * value.
+     * @throws IllegalArgumentException If there is at least 1 continuous
+     * Feature whose data is not a Number.
+     */
+    public Dataset(@NotNull List<? extends Feature.Generator<?>> generators,
+            @NotNull List<? extends List<?>> columns,
+            @NotNull List<T> targets) {
+        //Validates that there is at least 1 row
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Argument List targets must " +
+                    "contain at least 1 element.");
+        }//end if
+
+        //Validates that every Feature.Generator has a column
+        if (generators.size() != columns.size()) {
+            throw new IllegalArgumentException("Arguments generators and " +
+                    "columns must have the same size.");
+        }//end if
+
+        this.titles = new String[generators.size()];
+        this.types = new Feature.Type[generators.size()];
+        for (int f = 0; f < generators.size(); f++) {
+            this.titles[f] = generators.get(f).getTitle();
+            this.types[f] = generators.get(f).getType();
+        }//end for
+
+        this.slots = new HashMap<>(this.titles.length);
+        this.continuous = new double[this.titles.length][];
+        this.discrete = new int[this.titles.length][];
+        this.sorted = new int[this.titles.length][];
+        this.bins = new byte[this.titles.length][];
+        this.binBounds = new double[this.titles.length][];
+        this.dictionaries = new ArrayList<>(this.titles.length);
+        this.targets = new int[targets.size()];
+        this.labels = new Dictionary<>();
+        this.initColumns(targets.size());
+
+        //Populates the columns, one column at a time
+        for (int f = 0; f < this.titles.length; f++) {
+            //Validates that the current column has a value for every row
+            if (columns.get(f).size() != targets.size()) {
+                throw new IllegalArgumentException("All the columns must " +
+                        "have the same size as argument List targets.");
+            }//end if
+
+            //The index of the current row
+            int row = 0;
+            for (Object data : columns.get(f)) {
+                this.setCell(f, row++, data);
+            }//end for
+        }//end for
+
+        //The index of the current row
+        int row = 0;
+        for (T target : targets) {
+            this.setTarget(row++, target);
+        }//end for
+
+        this.presort();
+    }
+
+    /**
+     * Creates a Dataset with a subset of the rows of another Dataset, in the
+     * given order. The schema, the Dictionary's' of the discrete Feature's',
+     * the bin bounds and the label Dictionary are shared, so the value codes
+     * and the class ids are the same as in the source Dataset. The presorted
+     * rows are filtered from the source, in a single pass, with no sorting. A
+     * row taken more than once is repeated in the presorted rows, once for
+     * every time it is taken.
+     * @param source The Dataset to take the rows from.
+     * @param rows The indices of the rows of source, possibly repeated.
+     */
+    private Dataset(@NotNull Dataset<T> source, @NotNull int[] rows) {
+        this.titles = source.titles;
+        this.types = source.types;
+        this.slots = source.slots;
+        this.continuous = new double[this.titles.length][];
+        this.discrete = new int[this.titles.length][];
+        this.sorted = new int[this.titles.length][];
+        this.bins = new byte[this.titles.length][];
+        this.binBounds = source.binBounds.clone();
+        this.dictionaries = source.dictionaries;
+        this.targets = new int[rows.length];
+        this.labels = source.labels;
+
+        //The indices in this Dataset of every row of source, grouped by row:
+        //the indices of row r are in positions [start[r], start[r + 1])
+        int[] start = new int[source.size() + 1];
+        for (int i = 0; i < rows.length; i++) {
+            start[rows[i] + 1]++;
+            this.targets[i] = source.targets[rows[i]];
+        }//end for
+
+        for (int r = 0; r < source.size(); r++) {
+            start[r + 1] += start[r];
+        }//end for
+
+        int[] positions = new int[rows.length];
+        int[] next = Arrays.copyOf(start, source.size());
+        for (int i = 0; i < rows.length; i++) {
+            positions[next[rows[i]]++] = i;
+        }//end for
+
+        for (int f = 0; f < this.titles.length; f++) {
+            //Checks if the current Feature contains continuous values
+            if (source.continuous[f] != null) {
+                this.continuous[f] = new double[rows.length];
+                for (int i = 0; i < rows.length; i++) {
+                    this.continuous[f][i] = source.continuous[f][rows[i]];
+                }//end for
+
+                //Keeps the taken rows, in the sorted order of source
+                this.sorted[f] = new int[rows.length];
+                int k = 0;
+                for (int r : source.sorted[f]) {
+                    for (int p = start[r]; p < start[r + 1]; p++) {
+                        this.sorted[f][k++] = positions[p];
+                    }//end for
+                }//end for
+            } else if (source.bins[f] != null) {
+                this.bins[f] = new byte[rows.length];
+                for (int i = 0; i < rows.length; i++) {
+                    this.bins[f][i] = source.bins[f][rows[i]];
+                }//end for
+            } else {
+                this.discrete[f] = new int[rows.length];
+                for (int i = 0; i < rows.length; i++) {
+                    this.discrete[f][i] = source.discrete[f][rows[i]];
+                }//end for
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Creates a Dataset, given its schema and its columns, already encoded. The
+     * columns are not copied.
+     * @param titles The titles of the Feature's', indexed by their slot.
+     * @param types The types of the Feature's', indexed by their slot.
+     * @param continuous The columns of the continuous Feature's', with null at
+     * the slots of the discrete ones.
+     * @param discrete The columns of value codes of the discrete Feature's',
+     * with null at the slots of the continuous ones.
+     * @param dictionaries The Dictionary of every discrete Feature, with null
+     * at the slots of the continuous ones.
+     * @param targets The class ids of the target values of the rows.
+     * @param labels The Dictionary of the target values, with their class ids.
+     */
+    private Dataset(@NotNull String[] titles, @NotNull Feature.Type[] types,
+            @NotNull double[][] continuous, @NotNull int[][] discrete,
+            @NotNull List<Dictionary<Object>> dictionaries,
+            @NotNull int[] targets, @NotNull Dictionary<T> labels) {
+        this.titles = titles;
+        this.types = types;
+        this.slots = new HashMap<>(titles.length);
+        for (int f = 0; f < titles.length; f++) {
+            this.slots.put(titles[f], f);
+        }//end for
+
+        this.continuous = continuous;
+        this.discrete = discrete;
+        this.sorted = new int[titles.length][];
+        this.bins = new byte[titles.length][];
+        this.binBounds = new double[titles.length][];
+        this.dictionaries = dictionaries;
+        this.targets = targets;
+        this.labels = labels;
+        this.presort();
+    }
+
+    /**
+     * Reads a shard of the rows of a .csv file, in the format of the datasets
+     * of this project: a header with the number of rows, the Feature's' as
+     * title:type (0 for a discrete Feature, 1 for a continuous one) and the
+     * title of the target, followed by a line per row. The data row i belongs
+     * to shard i % shardCount. The file is streamed line by line, the lines of
+     * the other shards are skipped without being split, and every row is
+     * encoded straight into the primitive columns, so no Record is created and
+     * no token is kept. The target values and the values of the discrete
+     * Feature's' are the String tokens of the file.
+     * @param path The path of the .csv file.
+     * @param shard The index of the shard, in range [0, shardCount).
+     * @param shardCount The number of shards. With 1 shard, all the rows are
+     * read.
+     * @return A Dataset with the rows of the shard, with the Feature's' in the
+     * order of the header.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If shardCount <= 0, or shard is not in
+     * range [0, shardCount).
+     * @throws IllegalArgumentException If the header has no Feature, or a
+     * Feature of it has no valid type.
+     * @throws IllegalArgumentException If a row does not have a token per
+     * Feature and its target, or a token of a continuous Feature is not a
+     * number.
+     * @throws IllegalArgumentException If the shard has no rows.
+     */
+    public static @NotNull Dataset<String> read(@NotNull String path,
+            int shard, int shardCount) throws IOException {
+        //Validates that there is at least 1 shard
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Argument shardCount must be " +
+                    "> 0.");
+        }//end if
+
+        //Validates that 0 <= shard < shardCount
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Argument shard must be in " +
+                    "range [0, shardCount).");
+        }//end if
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(
+                path))) {
+            String line = reader.readLine();
+            //The number of rows, the Feature's' and the title of the target
+            String[] header = line == null ? new String[0] : line.split(",");
+            //Validates that there is at least 1 Feature
+            if (header.length < 3) {
+                throw new IllegalArgumentException("Argument path must " +
+                        "contain a file with a header of at least 1 " +
+                        "Feature.");
+            }//end if
+
+            int featureCount = header.length - 2;
+            String[] titles = new String[featureCount];
+            Feature.Type[] types = new Feature.Type[featureCount];
+            double[][] continuous = new double[featureCount][];
+            int[][] discrete = new int[featureCount][];
+            List<Dictionary<Object>> dictionaries = new ArrayList<>(
+                    featureCount);
+            //The initial capacity of the columns, doubled whenever it is
+            //exhausted
+            int capacity = 1024;
+            for (int f = 0; f < featureCount; f++) {
+                String feature = header[f + 1];
+                int colon = feature.lastIndexOf(':');
+                String type = colon < 0 ? "" : feature.substring(colon + 1);
+                //Validates that the Feature is discrete or continuous
+                if (!type.equals("0") && !type.equals("1")) {
+                    throw new IllegalArgumentException("Feature " + feature +
+                            " of " + path + " must be of type 0 (discrete) " +
+                            "or 1 (continuous).");
+                }//end if
+
+                titles[f] = feature.substring(0, colon);
+                //Checks if the Feature contains continuous values
+                if (type.equals("1")) {
+                    types[f] = Feature.Type.CONTINUOUS;
+                    continuous[f] = new double[capacity];
+                    dictionaries.add(null);
+                } else {
+                    types[f] = Feature.Type.DISCRETE;
+                    discrete[f] = new int[capacity];
+                    dictionaries.add(new Dictionary<>());
+                }//end if
+            }//end for
+
+            int[] targets = new int[capacity];
+            Dictionary<String> labels = new Dictionary<>();
+            //The number of rows of the shard
+            int size = 0;
+            //The index of the current data row, in all the shards
+            int i = -1;
+            while ((line = reader.readLine()) != null) {
+                i++;
+                //Checks if the row belongs to another shard, or the line is
+                //blank
+                if (i % shardCount != shard || line.isEmpty()) {
+                    continue;
+                }//end if
+
+                String[] tokens = line.split(",");
+                //Validates that the row has a token per Feature and its target
+                if (tokens.length != featureCount + 1) {
+                    throw new IllegalArgumentException("Line " + (i + 2) +
+                            " of " + path + " must contain " +
+                            (featureCount + 1) + " tokens.");
+                }//end if
+
+                //Checks if the columns are full, so they are grown
+                if (size == capacity) {
+                    capacity *= 2;
+                    targets = Arrays.copyOf(targets, capacity);
+                    for (int f = 0; f < featureCount; f++) {
+                        if (continuous[f] != null) {
+                            continuous[f] = Arrays.copyOf(continuous[f],
+                                    capacity);
+                        } else {
+                            discrete[f] = Arrays.copyOf(discrete[f],
+                                    capacity);
+                        }//end if
+                    }//end for
+                }//end if
+
+                for (int f = 0; f < featureCount; f++) {
+                    //Checks if the Feature contains continuous values
+                    if (continuous[f] != null) {
+                        continuous[f][size] = Double.parseDouble(tokens[f]);
+                    } else {
+                        discrete[f][size] = dictionaries.get(f).add(tokens[f]);
+                    }//end if
+                }//end for
+
+                targets[size++] = labels.add(tokens[featureCount]);
+            }//end while
+
+            //Validates that the shard has at least 1 row
+            if (size == 0) {
+                throw new IllegalArgumentException("Shard " + shard + " of " +
+                        path + " must contain at least 1 row.");
+            }//end if
+
+            //Trims the columns to the number of rows
+            for (int f = 0; f < featureCount; f++) {
+                if (continuous[f] != null) {
+                    continuous[f] = Arrays.copyOf(continuous[f], size);
+                } else {
+                    discrete[f] = Arrays.copyOf(discrete[f], size);
+                }//end if
+            }//end for
+
+            return new Dataset<>(titles, types, continuous, discrete,
+                    dictionaries, Arrays.copyOf(targets, size), labels);
+        }//end try
+    }
+
+    /**
+     * Sorts the row indices of every continuous Feature by its value, once for
+     * the whole Dataset.
+     */
+    private void presort() {
+        for (int f = 0; f < this.titles.length; f++) {
+            //Checks if the current Feature contains continuous values
+            if (this.continuous[f] != null) {
+                this.sorted[f] = Dataset.sortIndices(this.continuous[f]);
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Sorts the indices of a column by their values, with a stable bottom-up
+     * merge sort on primitive arrays.
+     * @param keys The values of the column.
+     * @return An array with the indices of keys, in ascending order of their
+     * values.
+     */
+    private static @NotNull int[] sortIndices(@NotNull double[] keys) {
+        int[] src = new int[keys.length];
+        int[] dst = new int[keys.length];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = i;
+        }//end for
+
+        //Merges runs of width 1, 2, 4, ... until a single run remains
+        for (int width = 1; width < src.length; width *= 2) {
+            for (int lo = 0; lo < src.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, src.length);
+                int hi = Math.min(lo + 2 * width, src.length);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = keys[src[j]] < keys[src[i]] ? src[j++] :
+                            src[i++];
+                }//end while
+                while (i < mid) {
+                    dst[k++] = src[i++];
+                }//end while
+                while (j < hi) {
+                    dst[k++] = src[j++];
+                }//end while
+            }//end for
+
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }//end for
+
+        return src;
+    }
+
+    /**
+     * Allocates the columns of this Dataset, after its schema is resolved.
+     * @param size The number of rows of this Dataset.
+     */
+    private void initColumns(int size) {
+        for (int f = 0; f < this.titles.length; f++) {
+            this.slots.put(this.titles[f], f);
+            //Checks if the current Feature contains continuous values
+            if (this.types[f] == Feature.Type.CONTINUOUS) {
+                this.continuous[f] = new double[size];
+                this.dictionaries.add(null);
+            } else {
+                this.discrete[f] = new int[size];
+                this.dictionaries.add(new Dictionary<>());
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Stores the data of a Feature of a row in its column.
+     * @param f The slot of the Feature.
+     * @param row The index of the row.
+     * @param data The data of the Feature.
+     * @throws IllegalArgumentException If the Feature is continuous and data is
+     * not a Number.
+     */
+    private void setCell(int f, int row, @NotNull Object data) {
+        //Checks if the Feature contains continuous values
+        if (this.continuous[f] != null) {
+            //Validates that data is a Number
+            if (!(data instanceof Number)) {
+                throw new IllegalArgumentException("The data of continuous " +
+                        "Feature " + this.titles[f] + " must be a Number.");
+            }//end if
+
+            this.continuous[f][row] = ((Number) data).doubleValue();
+            return;
+        }//end if
+
+        //Stores the code of data, assigning a new one if it is seen for the 1st
+        //time
+        this.discrete[f][row] = this.dictionaries.get(f).add(data);
+    }
+
+    /**
+     * Stores the class id of the target value of a row.
+     * @param row The index of the row.
+     * @param target The target value of the row.
+     * @throws IllegalArgumentException If target == null.
+     */
+    private void setTarget(int row, T target) {
+        //Validates that target is present
+        if (target == null) {
+            throw new IllegalArgumentException("All the rows must contain a " +
+                    "non-null target value.");
+        }//end if
+
+        //Stores the class id of target, assigning a new one if it is seen for
+        //the 1st time
+        this.targets[row] = this.labels.add(target);
+    }
+
+    /**
+     * Quantizes every continuous Feature of this Dataset into at most maxBins
+     * bins of (approximately) equal frequency, stored as one byte per cell.
+     * Equal values always fall in the same bin. After this method returns, the
+     * double[] columns and the presorted rows of the continuous Feature's' are
+     * released, and the Table's' of this Dataset find their splits from per bin
+     * class frequencies, in histogram mode. Calling this method more than once
+     * has no effect.
+     * @param maxBins The maximum number of bins of every continuous Feature.
+     * @throws IllegalArgumentException If maxBins < 2 or maxBins > 256.
+     */
+    public void quantize(int maxBins) {
+        //Validates that 2 <= maxBins <= 256
+        if (maxBins < 2 || maxBins > 256) {
+            throw new IllegalArgumentException("Argument maxBins must be in " +
+                    "range [2, 256].");
+        }//end if
+
+        for (int f = 0; f < this.titles.length; f++) {
+            //Checks if the current Feature is not continuous, or is already
+            //quantized
+            if (this.continuous[f] == null) {
+                continue;
+            }//end if
+
+            double[] column = this.continuous[f];
+            int[] order = this.sorted[f];
+            byte[] bins = new byte[column.length];
+            double[] bounds = new double[maxBins];
+            //The number of bins of the current Feature
+            int binCount = 0;
+            //The position in order, where the current bin starts
+            int start = 0;
+            while (start < order.length) {
+                //The position in order, where the current bin should end, if
+                //the rows were split in equal parts
+                int end = Math.max(start + 1, (int) ((long) (binCount + 1) *
+                        order.length / maxBins));
+                //The last bin takes all the remaining rows
+                if (binCount == maxBins - 1) {
+                    end = order.length;
+                }//end if
+
+                //Extends the current bin, to include all the equal values
+                while (end < order.length && column[order[end]] ==
+                        column[order[end - 1]]) {
+                    end++;
+                }//end while
+
+                for (int i = start; i < end; i++) {
+                    bins[order[i]] = (byte) binCount;
+                }//end for
+
+                bounds[binCount++] = column[order[end - 1]];
+                start = end;
+            }//end while
+
+            this.bins[f] = bins;
+            this.binBounds[f] = Arrays.copyOf(bounds, binCount);
+            this.continuous[f] = null;
+            this.sorted[f] = null;
+        }//end for
+    }
+
+    /**
+     * Creates a Dataset with a subset of the rows of this Dataset. The value
+     * codes of the discrete Feature's', the bins of the quantized ones and the
+     * class ids of the target values are the same as in this Dataset, so a
+     * Classifier trained on the subset predicts the class ids of this Dataset.
+     * A row may be taken more than once, e.g. for a bootstrap sample, in which
+     * case it is repeated in the subset.
+     * @param rows The indices of the rows to take, in the order of the rows of
+     * the subset.
+     * @return A Dataset with the given rows of this Dataset.
+     * @throws IllegalArgumentException If rows.length == 0.
+     * @throws IllegalArgumentException If a row index is out of range
+     * [0, size()).
+     */
+    public @NotNull Dataset<T> subset(@NotNull int[] rows) {
+        //Validates that there is at least 1 row
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Argument rows must contain " +
+                    "at least 1 element.");
+        }//end if
+
+        //Validates that the row indices are in range
+        for (int r : rows) {
+            if (r < 0 || r >= this.size()) {
+                throw new IllegalArgumentException("Argument rows must " +
+                        "contain indices in range [0, size()).");
+            }//end if
+        }//end for
+
+        return new Dataset<>(this, rows);
+    }
+
+    /**
+     * Gets the number of rows of this Dataset.
+     * @return The number of rows of this Dataset.
+     */
+    public int size() {
+        return this.targets.length;
+    }
+
+    /**
+     * Gets the number of Feature's' of this Dataset.
+     * @return The number of Feature's' of this Dataset.
+     */
+    public int featureCount() {
+        return this.titles.length;
+    }
+
+    /**
+     * Gets the title of a Feature of this Dataset.
+     * @param f The slot of the Feature.
+     * @return The title of the Feature at slot f.
+     */
+    public @NotNull String title(int f) {
+        return this.titles[f];
+    }
+
+    /**
+     * Gets the type of a Feature of this Dataset.
+     * @param f The slot of the Feature.
+     * @return The type of the Feature at slot f.
+     */
+    public @NotNull Feature.Type type(int f) {
+        return this.types[f];
+    }
+
+    /**
+     * Gets the slot of a Feature of this Dataset, given its title.
+     * @param title The title of the Feature.
+     * @return The slot of the Feature, or -1 if this Dataset has no Feature
+     * with the given title.
+     */
+    public int slot(@NotNull String title) {
+        return this.slots.getOrDefault(title, -1);
+    }
+
+    /**
+     * Gets the column of a continuous Feature. The returned array is not a
+     * copy, and must not be modified.
+     * @param f The slot of a continuous Feature.
+     * @return The column of the continuous Feature at slot f, or null if it is
+     * quantized.
+     */
+    double[] continuous(int f) {
+        return this.continuous[f];
+    }
+
+    /**
+     * Gets the row indices of a continuous Feature, sorted by its value. The
+     * returned array is not a copy, and must not be modified.
+     * @param f The slot of a continuous Feature.
+     * @return The row indices of the continuous Feature at slot f, in ascending
+     * order of its value, or null if it is quantized.
+     */
+    int[] sorted(int f) {
+        return this.sorted[f];
+    }
+
+    /**
+     * Indicates if a Feature of this Dataset is quantized into bins.
+     * @param f The slot of a Feature.
+     * @return True if the Feature at slot f is a quantized continuous Feature,
+     * otherwise false.
+     */
+    public boolean isBinned(int f) {
+        return this.bins[f] != null;
+    }
+
+    /**
+     * Gets the column of bin indices of a quantized continuous Feature. Every
+     * cell is an unsigned byte. The returned array is not a copy, and must not
+     * be modified.
+     * @param f The slot of a quantized continuous Feature.
+     * @return The column of bin indices of the Feature at slot f.
+     */
+    byte[] bins(int f) {
+        return this.bins[f];
+    }
+
+    /**
+     * Gets the number of bins of a quantized continuous Feature.
+     * @param f The slot of a quantized continuous Feature.
+     * @return The number of bins of the Feature at slot f.
+     */
+    public int binCount(int f) {
+        return this.binBounds[f].length;
+    }
+
+    /**
+     * Gets the upper (included) bound of a bin of a quantized continuous
+     * Feature.
+     * @param f The slot of a quantized continuous Feature.
+     * @param bin The index of the bin.
+     * @return The largest value of the Feature at slot f, that falls in the
+     * given bin.
+     */
+    public double binBound(int f, int bin) {
+        return this.binBounds[f][bin];
+    }
+
+    /**
+     * Gets the column of value codes of a discrete Feature. The returned array
+     * is not a copy, and must not be modified.
+     * @param f The slot of a discrete Feature.
+     * @return The column of value codes of the discrete Feature at slot f.
+     */
+    int[] discrete(int f) {
+        return this.discrete[f];
+    }
+
+    /**
+     * Gets the number of distinct values of a discrete Feature.
+     * @param f The slot of a discrete Feature.
+     * @return The number of distinct values of the discrete Feature at slot f.
+     */
+    public int valueCount(int f) {
+        return this.dictionaries.get(f).size();
+    }
+
+    /**
+     * Gets the value of a discrete Feature, given its code.
+     * @param f The slot of a discrete Feature.
+     * @param code The code of the value.
+     * @return The value of the discrete Feature at slot f, with the given code.
+     */
+    public @NotNull Object value(int f, int code) {
+        return this.dictionaries.get(f).value(code);
+    }
+
+    /**
+     * Gets the code of a value of a discrete Feature.
+     * @param f The slot of a discrete Feature.
+     * @param value A value of the discrete Feature.
+     * @return The code of the given value, or -1 if the discrete Feature at
+     * slot f never takes it in this Dataset.
+     */
+    public int code(int f, @NotNull Object value) {
+        return this.dictionaries.get(f).id(value);
+    }
+
+    /**
+     * Gets the Dictionary of a discrete Feature, with its distinct values and
+     * their codes. The returned Dictionary is not a copy, and must not be
+     * modified.
+     * @param f The slot of a discrete Feature.
+     * @return The Dictionary of the Feature at slot f.
+     */
+    Dictionary<Object> dictionary(int f) {
+        return this.dictionaries.get(f);
+    }
+
+    /**
+     * Gets the column of class ids of the target values. The returned array is
+     * not a copy, and must not be modified.
+     * @return The column of class ids of the target values.
+     */
+    int[] targets() {
+        return this.targets;
+    }
+
+    /**
+     * Gets the number of distinct target values of this Dataset.
+     * @return The number of distinct target values of this Dataset.
+     */
+    public int classCount() {
+        return this.labels.size();
+    }
+
+    /**
+     * Gets the target value of a given class id.
+     * @param id A class id of this Dataset.
+     * @return The target value with the given class id.
+     */
+    public @NotNull T label(int id) {
+        return this.labels.value(id);
+    }
+
+    /**
+     * Gets the Dictionary of the target values of this Dataset, that maps them
+     * to their class ids. It must not be modified.
+     * @return The label Dictionary of this Dataset.
+     */
+    public @NotNull Dictionary<T> getLabels() {
+        return this.labels;
+    }
+
+}//end class Dataset
@@ -0,0 +1,667 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Represents a decision stump, i.e. a decision tree with a single split, that
+ * is trained on the weighted rows of a Dataset. It is the weak learner of
+ * AdaBoostM1. The split with the minimum weighted error is found over all the
+ * Feature's', in a single pass of every column: a sweep of the presorted rows
+ * of a continuous Feature, a sweep of the histogram of a quantized one, or a
+ * contingency table of a discrete one, with a class per value code.
+ * @param <Y> The type of the output variable (class/category) of the rows of
+ * the Dataset.
+ */
+public class DecisionStump<Y> implements IndexedClassifier<Y> {
+
+    /**
+     * Represents the best split of a single Feature, with the class id every
+     * side of the split predicts.
+     */
+    static class Split {
+
+        /**
+         * The slot of the Feature of this Split.
+         */
+        final int feature;
+
+        /**
+         * The bound of the low side of this Split, or NaN for a discrete
+         * Feature.
+         */
+        final double threshold;
+
+        /**
+         * The class id predicted by every side of this Split: [low, high] for
+         * a continuous Feature, or a class id per value code for a discrete
+         * one.
+         */
+        final int[] classes;
+
+        /**
+         * The weighted error of this Split.
+         */
+        final double error;
+
+        /**
+         * Creates a Split, given its Feature, bound, classes and error.
+         * @param feature The slot of the Feature of the Split.
+         * @param threshold The bound of the low side of the Split, or NaN.
+         * @param classes The class id predicted by every side of the Split.
+         * @param error The weighted error of the Split.
+         */
+        Split(int feature, double threshold, @NotNull int[] classes,
+                double error) {
+            this.feature = feature;
+            this.threshold = threshold;
+            this.classes = classes;
+            this.error = error;
+        }
+
+    }//end inner class Split
+
+    /**
+     * The Dictionary of the target values of the training Dataset, with their
+     * class ids.
+     */
+    private final Dictionary<Y> labels;
+
+    /**
+     * The title of the Feature this DecisionStump examines.
+     */
+    private final String title;
+
+    /**
+     * The Dictionary of the values of the Feature this DecisionStump examines,
+     * or null if it is continuous.
+     */
+    private final Dictionary<?> codes;
+
+    /**
+     * The bound of the low side of the split, or NaN if the Feature is
+     * discrete.
+     */
+    private final double threshold;
+
+    /**
+     * The class id predicted by every side of the split: [low, high] for a
+     * continuous Feature, or a class id per value code for a discrete one.
+     */
+    private final int[] classes;
+
+    /**
+     * The class id of the dominant weighted target value, predicted for the
+     * values of a discrete Feature that were never seen in training.
+     */
+    private final int fallback;
+
+    /**
+     * The weighted error of this DecisionStump, on its training rows.
+     */
+    private final double error;
+
+    /**
+     * Creates a DecisionStump, trained on the weighted rows of a Dataset.
+     * @param dataset The Dataset with the training rows.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row.
+     * @throws IllegalArgumentException If dataset.featureCount() == 0.
+     * @throws IllegalArgumentException If weights.length != dataset.size().
+     */
+    public DecisionStump(@NotNull Dataset<Y> dataset,
+            @NotNull double[] weights) {
+        this(dataset, weights, TrainingContext.sequential());
+    }
+
+    /**
+     * Creates a DecisionStump, trained on the weighted rows of a Dataset, with
+     * its Feature's' scored concurrently in the ForkJoinPool of a
+     * TrainingContext. Every task reads the shared columns and weights, with
+     * no copy of the data, and the best Split is reduced pairwise, preferring
+     * the smaller slot on ties, so the result is the same as the sequential
+     * search.
+     * @param dataset The Dataset with the training rows.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row.
+     * @param context The TrainingContext to score the Feature's' in. If it is
+     * sequential, they are scored in the calling thread.
+     * @throws IllegalArgumentException If dataset.featureCount() == 0.
+     * @throws IllegalArgumentException If weights.length != dataset.size().
+     */
+    public DecisionStump(@NotNull Dataset<Y> dataset,
+            @NotNull double[] weights, @NotNull TrainingContext context) {
+        //Validates that dataset has a Feature to split on
+        if (dataset.featureCount() == 0) {
+            throw new IllegalArgumentException("Argument dataset must have " +
+                    "at least 1 Feature.");
+        }//end if
+
+        //Validates that there is a weight for every row
+        if (weights.length != dataset.size()) {
+            throw new IllegalArgumentException("Argument weights must have a " +
+                    "length of dataset.size().");
+        }//end if
+
+        //The indices of all the rows, in order
+        int[] rows = new int[dataset.size()];
+        for (int r = 0; r < rows.length; r++) {
+            rows[r] = r;
+        }//end for
+
+        //The weighted SplitStatistics of all the rows, which every Feature is
+        //scored from
+        SplitStatistics stats = new SplitStatistics(dataset, weights, rows, 0,
+                rows.length);
+        //The weight of every class id, in all the rows
+        double[] total = stats.classFreq();
+        //The task that finds the best Split of all the Feature's'
+        SearchTask task = new SearchTask(dataset, weights, stats, 0,
+                dataset.featureCount(), context.isSequential());
+        Split best = context.isSequential() ? task.compute() :
+                context.getPool().invoke(task);
+
+        this.labels = dataset.getLabels();
+        this.title = dataset.title(best.feature);
+        this.codes = dataset.type(best.feature) == Feature.Type.DISCRETE ?
+                dataset.dictionary(best.feature) : null;
+        this.threshold = best.threshold;
+        this.classes = best.classes;
+        this.fallback = DecisionStump.argMax(total);
+        this.error = best.error;
+    }
+
+    /**
+     * Creates a DecisionStump from a Split found elsewhere, e.g. from the
+     * histograms of row shards summed by a ShardCoordinator.
+     * @param labels The Dictionary of the target values, with their class ids.
+     * @param title The title of the Feature of the Split.
+     * @param codes The Dictionary of the values of the Feature of the Split,
+     * or null if it is continuous.
+     * @param split The Split.
+     * @param total The weight of every class id, in all the rows.
+     */
+    DecisionStump(@NotNull Dictionary<Y> labels, @NotNull String title,
+            Dictionary<?> codes, @NotNull Split split,
+            @NotNull double[] total) {
+        this.labels = labels;
+        this.title = title;
+        this.codes = codes;
+        this.threshold = split.threshold;
+        this.classes = split.classes;
+        this.fallback = DecisionStump.argMax(total);
+        this.error = split.error;
+    }
+
+    /**
+     * Creates a ClassifierGenerator of DecisionStump's', that score their
+     * Feature's' in the calling thread. Its Hypothesis's' get their bitset of
+     * correct rows from the primitive column of the split, so the rounds of
+     * AdaBoostM1 never predict the training rows. It is the generator to boost
+     * DecisionStump's' with, rather than DecisionStump::new, whose rounds
+     * predict all the training rows from a ColumnBlock.
+     * @param <Y> The type of the output variable (class/category) of the rows.
+     * @return A ClassifierGenerator of DecisionStump's'.
+     */
+    public static @NotNull <Y> ClassifierGenerator<Y> generator() {
+        return DecisionStump.generator(TrainingContext.sequential());
+    }
+
+    /**
+     * Creates a ClassifierGenerator of DecisionStump's', that score their
+     * Feature's' concurrently in a TrainingContext, for the parallel rounds of
+     * AdaBoostM1. Its Hypothesis's' get their bitset of correct rows from the
+     * primitive column of the split, with no ColumnBlock prediction.
+     * @param context The TrainingContext to score the Feature's' in.
+     * @param <Y> The type of the output variable (class/category) of the rows.
+     * @return A ClassifierGenerator of DecisionStump's'.
+     */
+    public static @NotNull <Y> ClassifierGenerator<Y> generator(
+            @NotNull TrainingContext context) {
+        return new ClassifierGenerator<Y>() {
+
+            @Override
+            public @NotNull Classifier<Y> generate(@NotNull Dataset<Y> dataset,
+                    @NotNull double[] weights) {
+                return new DecisionStump<>(dataset, weights, context);
+            }
+
+            @Override
+            public @NotNull Hypothesis<Y> train(@NotNull Dataset<Y> dataset,
+                    @NotNull double[] weights,
+                    @NotNull Supplier<ColumnBlock> block) {
+                DecisionStump<Y> stump = new DecisionStump<>(dataset, weights,
+                        context);
+                return new Hypothesis<>(stump, stump.correct(dataset));
+            }
+
+        };
+    }
+
+    /**
+     * Creates the bitset of the rows of a Dataset this DecisionStump classifies
+     * correctly, from the primitive column of its Feature: the values of a
+     * continuous Feature, the bins of a quantized one, or the value codes of a
+     * discrete one, which share the Dictionary of this DecisionStump.
+     * @param dataset A Dataset with the schema of the training Dataset, e.g.
+     * the training Dataset itself.
+     * @return A bitset with a bit per row of dataset, set if the row is
+     * classified correctly.
+     */
+    @NotNull long[] correct(@NotNull Dataset<Y> dataset) {
+        int f = dataset.slot(this.title);
+        int[] targets = dataset.targets();
+        long[] correct = new long[Hypothesis.words(targets.length)];
+        //Checks if the Feature is discrete
+        if (this.codes != null) {
+            int[] column = dataset.discrete(f);
+            for (int r = 0; r < targets.length; r++) {
+                int c = column[r] < this.classes.length ?
+                        this.classes[column[r]] : this.fallback;
+                if (c == targets[r]) {
+                    correct[r >>> 6] |= 1L << r;
+                }//end if
+            }//end for
+        } else if (dataset.isBinned(f)) {
+            byte[] column = dataset.bins(f);
+            //The class id predicted for every bin
+            int[] binClasses = new int[dataset.binCount(f)];
+            for (int b = 0; b < binClasses.length; b++) {
+                binClasses[b] = dataset.binBound(f, b) <= this.threshold ?
+                        this.classes[0] : this.classes[1];
+            }//end for
+
+            for (int r = 0; r < targets.length; r++) {
+                if (binClasses[column[r] & 0xFF] == targets[r]) {
+                    correct[r >>> 6] |= 1L << r;
+                }//end if
+            }//end for
+        } else {
+            double[] column = dataset.continuous(f);
+            for (int r = 0; r < targets.length; r++) {
+                int c = column[r] <= this.threshold ? this.classes[0] :
+                        this.classes[1];
+                if (c == targets[r]) {
+                    correct[r >>> 6] |= 1L << r;
+                }//end if
+            }//end for
+        }//end if
+
+        return correct;
+    }
+
+    /**
+     * Represents the search of the best Split of a range of Feature slots, as
+     * a task of a ForkJoinPool. A range of more than 1 slot is halved, and the
+     * best Split of the halves is kept.
+     */
+    private static class SearchTask extends RecursiveTask<Split> {
+
+        /**
+         * The version of the serialized form of SearchTask.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The Dataset with the training rows.
+         */
+        private final Dataset<?> dataset;
+
+        /**
+         * The sample weight of every row of the Dataset.
+         */
+        private final double[] weights;
+
+        /**
+         * The weighted SplitStatistics of all the rows of the Dataset.
+         */
+        private final SplitStatistics stats;
+
+        /**
+         * The 1st slot of the range.
+         */
+        private final int from;
+
+        /**
+         * The slot after the last one of the range.
+         */
+        private final int to;
+
+        /**
+         * Indicates if the Feature's' are scored in the calling thread, with no
+         * fork, even if it is a worker of a ForkJoinPool.
+         */
+        private final boolean isSequential;
+
+        /**
+         * Creates a SearchTask, given its range of Feature slots.
+         * @param dataset The Dataset with the training rows.
+         * @param weights The sample weight of every row of the Dataset.
+         * @param stats The weighted SplitStatistics of all the rows.
+         * @param from The 1st slot of the range.
+         * @param to The slot after the last one of the range. It must be >
+         * from.
+         * @param isSequential True if the Feature's' must be scored in the
+         * calling thread, e.g. for a sequential TrainingContext.
+         */
+        private SearchTask(@NotNull Dataset<?> dataset,
+                @NotNull double[] weights, @NotNull SplitStatistics stats,
+                int from, int to, boolean isSequential) {
+            this.dataset = dataset;
+            this.weights = weights;
+            this.stats = stats;
+            this.from = from;
+            this.to = to;
+            this.isSequential = isSequential;
+        }
+
+        @Override
+        protected Split compute() {
+            //Checks if the range has a single Feature
+            if (this.to - this.from == 1) {
+                return DecisionStump.search(this.dataset, this.weights,
+                        this.stats, this.from);
+            }//end if
+
+            //Checks if the task is sequential, or is not running in a
+            //ForkJoinPool, so the Feature's' are scored in this thread
+            if (this.isSequential || !ForkJoinTask.inForkJoinPool()) {
+                Split best = null;
+                for (int f = this.from; f < this.to; f++) {
+                    Split split = DecisionStump.search(this.dataset,
+                            this.weights, this.stats, f);
+                    //Checks if the current Split is better than the best one
+                    if (best == null || split.error < best.error) {
+                        best = split;
+                    }//end if
+                }//end for
+
+                return best;
+            }//end if
+
+            int middle = (this.from + this.to) >>> 1;
+            SearchTask low = new SearchTask(this.dataset, this.weights,
+                    this.stats, this.from, middle, false);
+            SearchTask high = new SearchTask(this.dataset, this.weights,
+                    this.stats, middle, this.to, false);
+            low.fork();
+            Split highSplit = high.compute();
+            Split lowSplit = low.join();
+            return lowSplit.error <= highSplit.error ? lowSplit : highSplit;
+        }
+
+    }//end inner class SearchTask
+
+    /**
+     * Finds the best Split of a single Feature of a Dataset, in a single pass
+     * of its column. The contingency table of a discrete or quantized Feature
+     * is built by the SplitStatistics of the rows. The presorted sweep of a
+     * continuous Feature is kept here, since it minimizes the weighted error,
+     * while SplitStatistics.bestCut maximizes the information gain.
+     * @param dataset A Dataset.
+     * @param weights The sample weight of every row of dataset.
+     * @param stats The SplitStatistics of all the rows of dataset, weighted by
+     * weights.
+     * @param f The slot of a Feature of dataset.
+     * @return The Split of the Feature at slot f with the minimum weighted
+     * error.
+     */
+    static @NotNull Split search(@NotNull Dataset<?> dataset,
+            @NotNull double[] weights, @NotNull SplitStatistics stats,
+            int f) {
+        int[] targets = dataset.targets();
+        //The weight of every class id, in all the rows
+        double[] total = stats.classFreq();
+        //Checks if the Feature is discrete
+        if (dataset.type(f) == Feature.Type.DISCRETE) {
+            double[][] table = stats.contingency(dataset.discrete(f),
+                    dataset.valueCount(f));
+            return DecisionStump.partition(f, table, total);
+        }//end if
+
+        //Checks if the Feature is quantized
+        if (dataset.isBinned(f)) {
+            double[][] table = stats.contingency(dataset.bins(f),
+                    dataset.binCount(f));
+
+            double[] bounds = new double[table.length];
+            for (int b = 0; b < bounds.length; b++) {
+                bounds[b] = dataset.binBound(f, b);
+            }//end for
+
+            return DecisionStump.cut(f, table, bounds, total);
+        }//end if
+
+        double[] column = dataset.continuous(f);
+        int[] sorted = dataset.sorted(f);
+        //The weight of every class id, at or before the current row
+        double[] low = new double[total.length];
+        //The best Split so far keeps all the rows in its low side
+        int bestLow = DecisionStump.argMax(total);
+        int bestHigh = bestLow;
+        //The weight of all the rows
+        double weight = DecisionStump.sum(total);
+        double bestError = weight - total[bestLow];
+        double threshold = column[sorted[sorted.length - 1]];
+        for (int i = 0; i < sorted.length - 1; i++) {
+            low[targets[sorted[i]]] += weights[sorted[i]];
+            //Checks if the current row has the same value as the next one, so
+            //they cannot be split
+            if (column[sorted[i]] == column[sorted[i + 1]]) {
+                continue;
+            }//end if
+
+            //The dominant class id of every side, and the weight they keep
+            int lowClass = 0;
+            int highClass = 0;
+            for (int c = 1; c < total.length; c++) {
+                if (low[c] > low[lowClass]) {
+                    lowClass = c;
+                }//end if
+
+                if (total[c] - low[c] > total[highClass] - low[highClass]) {
+                    highClass = c;
+                }//end if
+            }//end for
+
+            double error = weight - low[lowClass] - (total[highClass] -
+                    low[highClass]);
+            if (error < bestError) {
+                bestLow = lowClass;
+                bestHigh = highClass;
+                bestError = error;
+                threshold = column[sorted[i]];
+            }//end if
+        }//end for
+
+        return new Split(f, threshold, new int[]{bestLow, bestHigh},
+                bestError);
+    }
+
+    /**
+     * Finds the best Split of the ordered cells of a histogram of a continuous
+     * Feature, in a single sweep.
+     * @param f The slot of the continuous Feature.
+     * @param table The weight of every class id, in every cell.
+     * @param bounds The inclusive upper bound of every cell.
+     * @param total The weight of every class id, in all the cells.
+     * @return The Split of the cells with the minimum weighted error.
+     */
+    static @NotNull Split cut(int f, @NotNull double[][] table,
+            @NotNull double[] bounds, @NotNull double[] total) {
+        //The weight of every class id, at or below the current cell
+        double[] low = new double[total.length];
+        //The best Split so far keeps all the cells in its low side
+        int bestLow = DecisionStump.argMax(total);
+        int bestHigh = bestLow;
+        //The weight of all the rows
+        double weight = DecisionStump.sum(total);
+        double bestError = weight - total[bestLow];
+        double threshold = bounds[bounds.length - 1];
+        for (int b = 0; b < table.length - 1; b++) {
+            //The dominant class id of every side
+            int lowClass = 0;
+            int highClass = 0;
+            for (int c = 0; c < total.length; c++) {
+                low[c] += table[b][c];
+            }//end for
+
+            for (int c = 1; c < total.length; c++) {
+                if (low[c] > low[lowClass]) {
+                    lowClass = c;
+                }//end if
+
+                if (total[c] - low[c] > total[highClass] - low[highClass]) {
+                    highClass = c;
+                }//end if
+            }//end for
+
+            double error = weight - low[lowClass] - (total[highClass] -
+                    low[highClass]);
+            if (error < bestError) {
+                bestLow = lowClass;
+                bestHigh = highClass;
+                bestError = error;
+                threshold = bounds[b];
+            }//end if
+        }//end for
+
+        return new Split(f, threshold, new int[]{bestLow, bestHigh},
+                bestError);
+    }
+
+    /**
+     * Finds the Split of a discrete Feature, that predicts the dominant class
+     * id of every value code, from its contingency table.
+     * @param f The slot of the discrete Feature.
+     * @param table The weight of every class id, for every value code.
+     * @param total The weight of every class id, in all the value codes.
+     * @return The Split of the discrete Feature.
+     */
+    static @NotNull Split partition(int f, @NotNull double[][] table,
+            @NotNull double[] total) {
+        int[] classes = new int[table.length];
+        //The weight that the dominant class id of every value code keeps
+        double kept = 0.0;
+        for (int v = 0; v < table.length; v++) {
+            classes[v] = DecisionStump.sum(table[v]) > 0.0 ?
+                    DecisionStump.argMax(table[v]) : DecisionStump.argMax(total);
+            kept += table[v][classes[v]];
+        }//end for
+
+        return new Split(f, Double.NaN, classes, DecisionStump.sum(total) -
+                kept);
+    }
+
+    /**
+     * Finds the index of the maximum element of an array. Breaks ties in favor
+     * of the smallest index.
+     * @param values A non-empty array.
+     * @return The index of the maximum element of values.
+     */
+    private static int argMax(@NotNull double[] values) {
+        int max = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[max]) {
+                max = i;
+            }//end if
+        }//end for
+
+        return max;
+    }
+
+    /**
+     * Calculates the sum of the elements of an array.
+     * @param values An array.
+     * @return The sum of the elements of values.
+     */
+    private static double sum(@NotNull double[] values) {
+        double sum = 0.0;
+        for (double v : values) {
+            sum += v;
+        }//end for
+
+        return sum;
+    }
+
+    /**
+     * Finds the class id this DecisionStump predicts for a value of its
+     * Feature.
+     * @param value The value of the Feature this DecisionStump examines.
+     * @return The predicted class id.
+     */
+    private int classOf(@NotNull Object value) {
+        //Checks if the Feature is continuous
+        if (this.codes == null) {
+            return ((Number) value).doubleValue() <= this.threshold ?
+                    this.classes[0] : this.classes[1];
+        }//end if
+
+        int code = this.codes.id(value);
+        return code < 0 || code >= this.classes.length ? this.fallback :
+                this.classes[code];
+    }
+
+    @Override
+    public @NotNull Y predict(@NotNull Record<Y> record) {
+        return this.labels.value(this.predictClass(record));
+    }
+
+    @Override
+    public int predictClass(@NotNull Record<Y> record) {
+        return this.classOf(record.getFeature(this.title).getData());
+    }
+
+    /**
+     * Predicts/Classifies the class ids of all the rows of a ColumnBlock, from
+     * the single column this DecisionStump examines.
+     * @param block A ColumnBlock with the Feature this DecisionStump examines.
+     * @param out An array to store the class id of row i at index i.
+     * @throws IllegalArgumentException If out.length < block.size().
+     */
+    @Override
+    public void predict(@NotNull ColumnBlock block, @NotNull int[] out) {
+        //Validates that out can hold all the rows of block
+        if (out.length < block.size()) {
+            throw new IllegalArgumentException("Argument out must have a " +
+                    "length of at least block.size().");
+        }//end if
+
+        //Checks if the Feature is continuous
+        if (this.codes == null) {
+            double[] column = block.continuous(this.title);
+            for (int i = 0; i < block.size(); i++) {
+                out[i] = column[i] <= this.threshold ? this.classes[0] :
+                        this.classes[1];
+            }//end for
+        } else {
+            Object[] column = block.discrete(this.title);
+            for (int i = 0; i < block.size(); i++) {
+                out[i] = this.classOf(column[i]);
+            }//end for
+        }//end if
+    }
+
+    @Override
+    public @NotNull Y label(int id) {
+        return this.labels.value(id);
+    }
+
+    /**
+     * Gets the title of the Feature this DecisionStump examines.
+     * @return The title of the Feature of the split.
+     */
+    public @NotNull String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Gets the weighted error of this DecisionStump, on its training rows.
+     * @return The sum of the weights of the misclassified training rows.
+     */
+    public double getError() {
+        return this.error;
+    }
+
+}//end class DecisionStump
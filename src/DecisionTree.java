@@ -1,18 +1,23 @@
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Represents a decision tree on a given List of data, for classification.
  * @param <T> The type of the output variable (class/category) of the Record's'
  * of this DecisionTree.
  */
-public class DecisionTree<T> {
+public class DecisionTree<T> implements IndexedClassifier<T> {
 
     /**
-     * The root Node of this DecisionTree.
+     * The trained tree, flattened into primitive arrays. The Node's' and their
+     * Table's' are released after training, so the training data is not kept.
      */
-    private Node<T> root;
+    private CompactTree<T> tree;
 
     /**
      * Creates a decision tree on a given Collection of data. After this
@@ -32,30 +37,184 @@ public class DecisionTree<T> {
      */
     public DecisionTree(@NotNull Collection<Record<T>> records,
             int minNodeCapacity) {
-        //Validates that records Collection contains at least 1 element
-        if (records.isEmpty()) {
-            throw new IllegalArgumentException("Argument records Collection " +
-                    "must contain at least 1 element.");
-        }//end if
+        this(new Dataset<>(records), minNodeCapacity);
+    }
+
+    /**
+     * Creates a decision tree on a given Dataset, growing it sequentially, in
+     * the calling thread. After this constructor ends, the tree is trained, and
+     * ready to receive classification queries.
+     * @param dataset A Dataset with all the training data, to construct this
+     * DecisionTree.
+     * @param minNodeCapacity The minimum number of rows a Node of this
+     * DecisionTree can have.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     */
+    public DecisionTree(@NotNull Dataset<T> dataset, int minNodeCapacity) {
+        this(dataset, minNodeCapacity, TrainingContext.sequential());
+    }
+
+    /**
+     * Creates a decision tree on a given Dataset, growing it in a given
+     * TrainingContext. After this constructor ends, the tree is trained, and
+     * ready to receive classification queries.
+     * @param dataset A Dataset with all the training data, to construct this
+     * DecisionTree.
+     * @param minNodeCapacity The minimum number of rows a Node of this
+     * DecisionTree can have.
+     * @param context The TrainingContext to grow this DecisionTree in. Subtrees
+     * with fewer rows than its sequential threshold are grown sequentially.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     */
+    public DecisionTree(@NotNull Dataset<T> dataset, int minNodeCapacity,
+            @NotNull TrainingContext context) {
+        this(dataset, null, minNodeCapacity, context);
+    }
+
+    /**
+     * Creates a decision tree on a given Dataset and the sample weights of its
+     * rows, growing it sequentially, in the calling thread. After this
+     * constructor ends, the tree is trained, and ready to receive
+     * classification queries.
+     * @param dataset A Dataset with all the training data, to construct this
+     * DecisionTree.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row, or null if every row has a weight of 1. The split criterion and the
+     * class distribution of every Node are sums of the weights of its rows.
+     * @param minNodeCapacity The minimum number of rows a Node of this
+     * DecisionTree can have.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     * @throws IllegalArgumentException If weights.length != dataset.size(),
+     * or a weight is negative or not finite.
+     */
+    public DecisionTree(@NotNull Dataset<T> dataset, @Nullable double[] weights,
+            int minNodeCapacity) {
+        this(dataset, weights, minNodeCapacity, TrainingContext.sequential());
+    }
+
+    /**
+     * Creates a decision tree on a given Dataset and the sample weights of its
+     * rows, growing it in a given TrainingContext. After this constructor ends,
+     * the tree is trained, and ready to receive classification queries.
+     * @param dataset A Dataset with all the training data, to construct this
+     * DecisionTree.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row, or null if every row has a weight of 1. The split criterion and the
+     * class distribution of every Node are sums of the weights of its rows.
+     * @param minNodeCapacity The minimum number of rows a Node of this
+     * DecisionTree can have.
+     * @param context The TrainingContext to grow this DecisionTree in. Subtrees
+     * with fewer rows than its sequential threshold are grown sequentially.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     * @throws IllegalArgumentException If weights.length != dataset.size(),
+     * or a weight is negative or not finite.
+     */
+    public DecisionTree(@NotNull Dataset<T> dataset, @Nullable double[] weights,
+            int minNodeCapacity, @NotNull TrainingContext context) {
+        //Creates the root Node of this DecisionTree
+        Node<T> root = DecisionTree.root(dataset, weights, minNodeCapacity);
+        //Trains this DecisionTree
+        root.split(minNodeCapacity, context);
+
+        this.tree = new CompactTree<>(root);
+    }
+
+    /**
+     * Creates a decision tree on a given Dataset and the sample weights of its
+     * rows, growing it best-first (leaf-wise) under a given TreeBudget: the
+     * leaf with the best split is always expanded next, until a limit of the
+     * number of leaves, the depth or the minimum information gain is reached.
+     * The tree is grown sequentially, in the calling thread. After this
+     * constructor ends, the tree is trained, and ready to receive
+     * classification queries.
+     * @param dataset A Dataset with all the training data, to construct this
+     * DecisionTree.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row, or null if every row has a weight of 1.
+     * @param minNodeCapacity The minimum number of rows a Node of this
+     * DecisionTree can have.
+     * @param budget The growth limits of this DecisionTree.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     * @throws IllegalArgumentException If weights.length != dataset.size(),
+     * or a weight is negative or not finite.
+     */
+    public DecisionTree(@NotNull Dataset<T> dataset, @Nullable double[] weights,
+            int minNodeCapacity, @NotNull TreeBudget budget) {
+        //Creates the root Node of this DecisionTree
+        Node<T> root = DecisionTree.root(dataset, weights, minNodeCapacity);
+        //Trains this DecisionTree
+        root.split(minNodeCapacity, budget);
+
+        this.tree = new CompactTree<>(root);
+    }
+
+    /**
+     * Creates a ClassifierGenerator of DecisionTree's', grown best-first under
+     * a TreeBudget, for the rounds of AdaBoostM1. Its Hypothesis's' get their
+     * bitset of correct rows by a walk of the CompactTree on the primitive
+     * columns of the Dataset, with no value decoded or hashed.
+     * @param minNodeCapacity The minimum number of rows a Node can have.
+     * @param budget The growth limits of every DecisionTree.
+     * @param <T> The type of the output variable (class/category) of the rows.
+     * @return A ClassifierGenerator of DecisionTree's'.
+     */
+    public static @NotNull <T> ClassifierGenerator<T> generator(
+            int minNodeCapacity, @NotNull TreeBudget budget) {
+        return new ClassifierGenerator<T>() {
+
+            @Override
+            public @NotNull Classifier<T> generate(@NotNull Dataset<T> dataset,
+                    @NotNull double[] weights) {
+                return new DecisionTree<>(dataset, weights, minNodeCapacity,
+                        budget);
+            }
+
+            @Override
+            public @NotNull Hypothesis<T> train(@NotNull Dataset<T> dataset,
+                    @NotNull double[] weights,
+                    @NotNull Supplier<ColumnBlock> block) {
+                DecisionTree<T> tree = new DecisionTree<>(dataset, weights,
+                        minNodeCapacity, budget);
+                int[] predicted = new int[dataset.size()];
+                tree.tree.predictClasses(tree.tree.encode(dataset), 0,
+                        dataset.size(), predicted);
+                return new Hypothesis<>(tree, Hypothesis.mask(predicted,
+                        dataset.targets()));
+            }
 
+        };
+    }
+
+    /**
+     * Creates the root Node of a DecisionTree, with all the rows of a Dataset.
+     * @param dataset A Dataset with all the training data.
+     * @param weights The sample weight of every row of dataset, or null.
+     * @param minNodeCapacity The minimum number of rows a Node can have.
+     * @param <T> The type of the output variable (class/category) of the rows.
+     * @return The root Node, before it is split.
+     * @throws IllegalArgumentException If minNodeCapacity <= 0.
+     * @throws IllegalArgumentException If dataset.size() < minNodeCapacity.
+     */
+    private static @NotNull <T> Node<T> root(@NotNull Dataset<T> dataset,
+            @Nullable double[] weights, int minNodeCapacity) {
         //Validates that minNodeCapacity > 0
         if (minNodeCapacity <= 0) {
             throw new IllegalArgumentException("Argument minNodeCapacity " +
                     "must be > 0.");
         }//end if
 
-        //Validates that records.size() >= minNodeCapacity
-        if (records.size() < minNodeCapacity) {
-            throw new IllegalArgumentException("Argument records Collection " +
-                    "must have a size of at least minNodeCapacity.");
+        //Validates that dataset.size() >= minNodeCapacity
+        if (dataset.size() < minNodeCapacity) {
+            throw new IllegalArgumentException("Argument dataset must have a " +
+                    "size of at least minNodeCapacity.");
         }//end if
 
-        //Creates the root Node of this DecisionTree
-        Node<T> root = new Node<>(new Table<>(records));
-        //Trains this DecisionTree
-        root.split(minNodeCapacity);
-
-        this.root = root;
+        return new Node<>(new Table<>(dataset, weights));
     }
 
     /**
@@ -63,20 +222,121 @@ public class DecisionTree<T> {
      * @param record A record to predict its output value.
      * @return The predicted output value of the given Record.
      */
+    @Override
     public @NotNull T predict(@NotNull Record<T> record) {
-        //The target Node, to make the prediction
-        Node<T> node = this.root;
-        //Follows a path of Nodes, until it reaches a Node that has no mapping
-        //for a given value of the examined Feature
-        while (node.getFtrTitle() != null) {
-            //Gets the value of the examined Feature in node, of record
-            Comparable value = record.getFeatures().get(node.getFtrTitle()).getData();
-            //The next Node to branch to, based on the value of the given Record
-            //on the Feature examined by node
-            node = node.branch(value);
-        }//end while
-
-        return node.dominantTarget();
+        return this.tree.predict(record);
+    }
+
+    /**
+     * Predicts/Classifies the class id of a given Record, by a walk of the
+     * CompactTree on the encoded Record. The Record is encoded into a row
+     * reused by every prediction of the calling thread.
+     * @param record A Record to predict its class id.
+     * @return The class id of the predicted output value.
+     */
+    @Override
+    public int predictClass(@NotNull Record<T> record) {
+        return this.tree.predictClass(this.tree.encode(record));
+    }
+
+    /**
+     * Gets the number of slots of the rows this DecisionTree classifies.
+     * @return The number of Feature's' of the training Dataset.
+     */
+    public int slotCount() {
+        return this.tree.slotCount();
+    }
+
+    /**
+     * Encodes a Record into a row of primitive slots, that the caller can
+     * reuse for every Record it predicts with predictClass(double[]).
+     * @param record A Record to encode. It must contain all the Feature's' of
+     * the training Dataset.
+     * @param row An array with at least slotCount() elements, to store the
+     * encoded Record in.
+     */
+    public void encode(@NotNull Record<T> record, @NotNull double[] row) {
+        this.tree.encode(record, row);
+    }
+
+    /**
+     * Predicts/Classifies the class id of a row of primitive slots, with no
+     * allocation.
+     * @param row A row encoded by encode(Record, double[]).
+     * @return The class id of the predicted output value of the given row.
+     */
+    public int predictClass(@NotNull double[] row) {
+        return this.tree.predictClass(row);
+    }
+
+    /**
+     * Predicts/Classifies the class ids of all the rows of a ColumnBlock. The
+     * discrete columns are encoded once for the whole block, and the rows
+     * descend the CompactTree in chunks, 1 level at a time.
+     * @param block A ColumnBlock with all the Feature's' of the training data.
+     * @param out An array to store the class id of row i at index i.
+     * @throws IllegalArgumentException If out.length < block.size().
+     */
+    @Override
+    public void predict(@NotNull ColumnBlock block, @NotNull int[] out) {
+        //Validates that out can hold all the rows of block
+        if (out.length < block.size()) {
+            throw new IllegalArgumentException("Argument out must have a " +
+                    "length of at least block.size().");
+        }//end if
+
+        this.tree.predictClasses(this.tree.encode(block), 0, block.size(),
+                out);
+    }
+
+    /**
+     * Gets the output value of a class id of this DecisionTree.
+     * @param id A class id, in range [0, number of output values).
+     * @return The output value with the given class id.
+     */
+    @Override
+    public @NotNull T label(int id) {
+        return this.tree.label(id);
+    }
+
+    /**
+     * Predicts the probability of every output value of a given Record, from
+     * the class distribution stored in the Node that classifies it.
+     * @param record A Record to predict the probabilities of its output values.
+     * @return A Map with keys the output values of the training data, and
+     * values their probability for the given Record.
+     */
+    public @NotNull Map<T, Double> predictDistribution(
+            @NotNull Record<T> record) {
+        //The Node that classifies the Record
+        int node = this.tree.predictNode(this.tree.encode(record));
+        Map<T, Double> distribution = new LinkedHashMap<>(
+                this.tree.classCount());
+        for (int c = 0; c < this.tree.classCount(); c++) {
+            distribution.put(this.tree.label(c), this.tree.probability(node,
+                    c));
+        }//end for
+
+        return distribution;
+    }
+
+    /**
+     * Gets the flattened tree of this DecisionTree, for the allocation-free
+     * inference path: rows are encoded once with CompactTree.encode, and then
+     * classified with CompactTree.predictClass, by primitive comparisons on
+     * integer Feature slots.
+     * @return The CompactTree of this DecisionTree.
+     */
+    public @NotNull CompactTree<T> getCompactTree() {
+        return this.tree;
+    }
+
+    /**
+     * Gets the number of Node's' of this DecisionTree.
+     * @return The number of Node's' of this DecisionTree.
+     */
+    public int size() {
+        return this.tree.size();
     }
 
 }//end class DecisionTree
\ No newline at end of file
@@ -0,0 +1,90 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a dictionary that maps every distinct value to a dense int id, in
+ * the order the values were first added. The values are hashed once, when
+ * they are encoded, so all the counting and comparing afterwards is done on
+ * the ids, and an id is decoded back to its value only at the API boundary.
+ * @param <V> The type of the values of this Dictionary.
+ */
+public class Dictionary<V> {
+
+    /**
+     * The distinct values of this Dictionary, indexed by their id.
+     */
+    private final List<V> values = new ArrayList<>();
+
+    /**
+     * A Map with keys the distinct values of this Dictionary and values their
+     * ids.
+     */
+    private final Map<V, Integer> ids = new HashMap<>();
+
+    /**
+     * Adds a value to this Dictionary, if it is not already contained.
+     * @param value A value to encode.
+     * @return The id of the given value, assigning the next id if the value is
+     * seen for the 1st time.
+     * @throws IllegalArgumentException If value == null.
+     */
+    public int add(@NotNull V value) {
+        //Validates that value is present
+        if (value == null) {
+            throw new IllegalArgumentException("Argument value must not be " +
+                    "null.");
+        }//end if
+
+        Integer id = this.ids.get(value);
+        //Checks if the value is seen for the 1st time
+        if (id == null) {
+            id = this.values.size();
+            this.values.add(value);
+            this.ids.put(value, id);
+        }//end if
+
+        return id;
+    }
+
+    /**
+     * Gets the id of a value.
+     * @param value A value to look up.
+     * @return The id of the given value, or -1 if it is not contained in this
+     * Dictionary.
+     */
+    public int id(Object value) {
+        Integer id = this.ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the value of an id.
+     * @param id An id, in range [0, size()).
+     * @return The value with the given id.
+     */
+    public @NotNull V value(int id) {
+        return this.values.get(id);
+    }
+
+    /**
+     * Gets the number of distinct values of this Dictionary.
+     * @return The number of ids of this Dictionary.
+     */
+    public int size() {
+        return this.values.size();
+    }
+
+    /**
+     * Gets the distinct values of this Dictionary.
+     * @return An unmodifiable List of the values, indexed by their id.
+     */
+    public @NotNull List<V> values() {
+        return Collections.unmodifiableList(this.values);
+    }
+
+}//end class Dictionary
@@ -0,0 +1,91 @@
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the weak Classifier of a boosting round, with a bitset of the
+ * training rows it classifies correctly. The bitset is known from training, so
+ * the weighted error and the new weights of a round are computed from its bits,
+ * with no prediction over the training rows.
+ * @param <Y> The type of the output variable (class/category) of the rows of
+ * the training Dataset.
+ */
+public class Hypothesis<Y> {
+
+    /**
+     * The weak Classifier of this Hypothesis.
+     */
+    private final IndexedClassifier<Y> classifier;
+
+    /**
+     * The bitset of the correctly classified training rows. Bit (row & 63) of
+     * word (row >>> 6) is set, if the row is classified correctly.
+     */
+    private final long[] correct;
+
+    /**
+     * Creates a Hypothesis, given its weak Classifier and its bitset of the
+     * correctly classified training rows.
+     * @param classifier The weak Classifier.
+     * @param correct The bitset of the correctly classified training rows, as
+     * created by mask.
+     */
+    public Hypothesis(@NotNull IndexedClassifier<Y> classifier,
+            @NotNull long[] correct) {
+        this.classifier = classifier;
+        this.correct = correct;
+    }
+
+    /**
+     * Creates the bitset of the correctly classified rows, from the predicted
+     * and the actual class ids of the rows.
+     * @param predicted The predicted class id of every row.
+     * @param targets The actual class id of every row.
+     * @return A bitset with a bit per row, set if the row is classified
+     * correctly.
+     * @throws IllegalArgumentException If predicted.length < targets.length.
+     */
+    public static @NotNull long[] mask(@NotNull int[] predicted,
+            @NotNull int[] targets) {
+        //Validates that every row is predicted
+        if (predicted.length < targets.length) {
+            throw new IllegalArgumentException("Argument predicted must have " +
+                    "a length of at least targets.length.");
+        }//end if
+
+        long[] correct = new long[Hypothesis.words(targets.length)];
+        for (int r = 0; r < targets.length; r++) {
+            if (predicted[r] == targets[r]) {
+                correct[r >>> 6] |= 1L << r;
+            }//end if
+        }//end for
+
+        return correct;
+    }
+
+    /**
+     * Gets the number of 64-bit words of a bitset of rows.
+     * @param rows The number of rows.
+     * @return The length of a bitset with a bit per row.
+     */
+    public static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    /**
+     * Gets the weak Classifier of this Hypothesis.
+     * @return The weak Classifier.
+     */
+    public @NotNull IndexedClassifier<Y> getClassifier() {
+        return this.classifier;
+    }
+
+    /**
+     * Gets the bitset of the correctly classified training rows. The returned
+     * array is not a copy, and must not be modified.
+     * @return The bitset, with bit (row & 63) of word (row >>> 6) set if the
+     * row is classified correctly.
+     */
+    public @NotNull long[] getCorrect() {
+        return this.correct;
+    }
+
+}//end class Hypothesis
@@ -0,0 +1,102 @@
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a Classifier that predicts class ids, i.e. the ids of the output
+ * values in the label Dictionary of its training Dataset, so that the votes of
+ * an ensemble are summed in primitive arrays and decoded once. Any Classifier
+ * is adapted to it by of(Classifier, Dictionary), from its predict(Record).
+ * @param <Y> The type of the output variable (class/category) of the Record's',
+ * this IndexedClassifier handles.
+ */
+public interface IndexedClassifier<Y> extends Classifier<Y> {
+
+    /**
+     * Adapts a Classifier to an IndexedClassifier, given the label Dictionary
+     * of its class ids. A Classifier that is already an IndexedClassifier is
+     * returned as it is, so it must predict the class ids of labels. Otherwise,
+     * every row is predicted with predict(Record), and its output value is
+     * looked up in labels.
+     * @param classifier A Classifier.
+     * @param labels The Dictionary of the output values, with their class ids.
+     * @param <Y> The type of the output variable (class/category) of the
+     * Record's' of the Classifier.
+     * @return An IndexedClassifier with the predictions of classifier.
+     */
+    static @NotNull <Y> IndexedClassifier<Y> of(
+            @NotNull Classifier<Y> classifier, @NotNull Dictionary<Y> labels) {
+        //Checks if the Classifier already predicts class ids
+        if (classifier instanceof IndexedClassifier) {
+            return (IndexedClassifier<Y>) classifier;
+        }//end if
+
+        return new IndexedClassifier<Y>() {
+
+            @Override
+            public @NotNull Y predict(@NotNull Record<Y> record) {
+                return classifier.predict(record);
+            }
+
+            @Override
+            public int predictClass(@NotNull Record<Y> record) {
+                Y value = classifier.predict(record);
+                int id = labels.id(value);
+                //Validates that the predicted value has a class id
+                if (id < 0) {
+                    throw new IllegalStateException("The Classifier " +
+                            "predicted " + value + ", which is not in the " +
+                            "label Dictionary.");
+                }//end if
+
+                return id;
+            }
+
+            @Override
+            public void predict(@NotNull ColumnBlock block,
+                    @NotNull int[] out) {
+                //Validates that out can hold all the rows of block
+                if (out.length < block.size()) {
+                    throw new IllegalArgumentException("Argument out must " +
+                            "have a length of at least block.size().");
+                }//end if
+
+                for (int i = 0; i < block.size(); i++) {
+                    out[i] = this.predictClass(block.record(i));
+                }//end for
+            }
+
+            @Override
+            public @NotNull Y label(int id) {
+                return labels.value(id);
+            }
+
+        };
+    }
+
+    /**
+     * Predicts/Classifies the class id of a given Record, without decoding it
+     * into its output value.
+     * @param record A Record to predict its class id.
+     * @return The class id of the predicted output value, decoded with
+     * label(int).
+     */
+    int predictClass(@NotNull Record<Y> record);
+
+    /**
+     * Predicts/Classifies the class ids of all the rows of a ColumnBlock, in a
+     * single call. The class ids are decoded with label(int).
+     * @param block A ColumnBlock with the rows to predict their output values.
+     * @param out An array to store the class id of row i at index i. It must
+     * have a length of at least block.size().
+     * @throws IllegalArgumentException If out.length < block.size().
+     */
+    void predict(@NotNull ColumnBlock block, @NotNull int[] out);
+
+    /**
+     * Gets the output value of a class id, predicted by
+     * predict(ColumnBlock, int[]) or predictClass(Record).
+     * @param id A class id of this IndexedClassifier.
+     * @return The output value with the given class id.
+     */
+    @NotNull Y label(int id);
+
+}//end interface IndexedClassifier
@@ -2,8 +2,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Represents a Node in a DecisionTree.
@@ -13,10 +13,10 @@ import java.util.stream.Collectors;
 public class Node<T> {
 
     /**
-     * The title of the Feature this Node branches based on. Contains null if
-     * this Node is a leaf Node.
+     * The slot of the Feature this Node branches based on. Contains -1 if this
+     * Node is a leaf Node.
      */
-    private String featureTitle;
+    private int feature = -1;
 
     /**
      * A Table with all the Record's' of this Node.
@@ -24,11 +24,11 @@ public class Node<T> {
     private Table<T> table;
 
     /**
-     * A Map with all the child nodes of this Node. The key is an Object, to use
-     * its .equals() method polymorphically, and the value is the child Node to
-     * branch to.
+     * A List with all the child nodes of this Node, indexed by their position:
+     * [low, high] for a continuous Feature, or the value code for a discrete
+     * one. Contains null at the positions with no child Node to branch to.
      */
-    private Map<Object, Node<T>> childNodes = new HashMap<>();
+    private List<Node<T>> childNodes = new ArrayList<>();
 
     /**
      * Creates a Node, given its Table.
@@ -39,18 +39,9 @@ public class Node<T> {
     }
 
     /**
-     * Maps a given key to a child Node.
-     * @param key The key of the child Node.
-     * @param child The child Node of this Node.
-     */
-    @Deprecated
-    public void addChild(@NotNull Object key, @NotNull Node<T> child) {
-        //Puts child in the childNodes Maps with key as its key
-        this.childNodes.put(key, child);
-    }
-
-    /**
-     * Gets a child Node of this Node, given a value.
+     * Gets a child Node of this Node, given a value. A discrete value is
+     * encoded once into its value code, and the child is then found by
+     * position, with no comparison of values.
      * @param value The value of a Record, of the branching Feature of this
      * Node, in order to branch to the proper child Node.
      * @return The child Node to branch to, or null if there is no mapping for
@@ -58,23 +49,41 @@ public class Node<T> {
      */
     public @Nullable
     Node<T> branch(@NotNull Comparable value) {
-        //Gets the Range's' of the branching Feature of this Node
-        Set<SemiRange<?>> ranges = this.table.getRanges().get(
-                this.featureTitle);
-        //Checks if the branching Feature contains continuous values
-        if (ranges != null) {
-            //Finds the SemiRange that contains the given value
-            for (SemiRange sr : ranges) {
-                //Checks if sr contains value
-                if (sr.contains(value)) {
-                    return this.childNodes.get(sr);
-                }//end if
-            }//end for
-
+        //Checks if this Node is a leaf Node
+        if (this.feature < 0) {
             return null;
         }//end if
 
-        return this.childNodes.get(value);
+        Dataset<T> dataset = this.table.getDataset();
+        //Checks if the branching Feature contains continuous values
+        if (dataset.type(this.feature) == Feature.Type.CONTINUOUS) {
+            return this.child(((Number) value).doubleValue() <=
+                    this.table.bound(this.feature) ? 0 : 1);
+        }//end if
+
+        return this.child(dataset.code(this.feature, value));
+    }
+
+    /**
+     * Gets a child Node of this Node, given its position.
+     * @param branch The position of the child Node: 0 or 1 for the low or the
+     * high SemiRange of a continuous Feature, or the value code of a discrete
+     * one.
+     * @return The child Node at the given position, or null if there is none.
+     */
+    public @Nullable
+    Node<T> child(int branch) {
+        return branch < 0 || branch >= this.childNodes.size() ? null :
+                this.childNodes.get(branch);
+    }
+
+    /**
+     * Gets the number of child positions of this Node.
+     * @return 2 if this Node branches on a continuous Feature, the number of
+     * value codes if it branches on a discrete one, or 0 if it is a leaf Node.
+     */
+    public int arity() {
+        return this.childNodes.size();
     }
 
     /**
@@ -82,7 +91,7 @@ public class Node<T> {
      * @return True if this Node is a leaf node, otherwise false.
      */
     public boolean isLeaf() {
-        return this.childNodes.isEmpty();
+        return this.feature < 0;
     }
 
     /**
@@ -92,7 +101,17 @@ public class Node<T> {
      */
     public @Nullable
     String getFtrTitle() {
-        return this.featureTitle;
+        return this.feature < 0 ? null : this.table.getDataset().title(
+                this.feature);
+    }
+
+    /**
+     * Gets the slot of the Feature this Node branches based on.
+     * @return The slot of the Feature this Node branches based on, or -1 if
+     * this Node is a leaf node.
+     */
+    public int getFeature() {
+        return this.feature;
     }
 
     /**
@@ -103,16 +122,35 @@ public class Node<T> {
      * frequency.
      */
     public @NotNull T dominantTarget() {
-        return this.table.getRecords()
-                         .parallelStream()
-                         .map(Record::getTarget)
-                         .collect(Collectors.groupingBy(Function.identity(),
-                                 Collectors.counting()))
-                         .entrySet()
-                         .parallelStream()
-                         .max(Comparator.comparing(Map.Entry::getValue))
-                         .get()
-                         .getKey();
+        return this.table.getDataset().label(this.dominantClass());
+    }
+
+    /**
+     * Finds the class id of the dominant (most frequent) target value of the
+     * Table of this Node. Breaks ties in favor of the smallest class id.
+     * @return The class id of the dominant target value of the Table of this
+     * Node.
+     */
+    public int dominantClass() {
+        //The frequency of every class id in the Table of this Node
+        double[] freq = this.table.classFreq();
+        //The class id with the maximum frequency
+        int dominant = 0;
+        for (int c = 1; c < freq.length; c++) {
+            if (freq[c] > freq[dominant]) {
+                dominant = c;
+            }//end if
+        }//end for
+
+        return dominant;
+    }
+
+    /**
+     * Gets the Table of this Node.
+     * @return The Table with all the rows of this Node.
+     */
+    public @NotNull Table<T> getTable() {
+        return this.table;
     }
 
     /**
@@ -121,61 +159,295 @@ public class Node<T> {
      */
     public @NotNull
     Collection<Node<T>> getChildNodes() {
-        return Collections.unmodifiableCollection(this.childNodes.values());
+        //The child Nodes, without the empty positions
+        List<Node<T>> children = new ArrayList<>(this.childNodes.size());
+        for (Node<T> child : this.childNodes) {
+            if (child != null) {
+                children.add(child);
+            }//end if
+        }//end for
+
+        return Collections.unmodifiableCollection(children);
     }
 
     /**
-     * Gets the number of Record's' the Table of this Node has.
-     * @return How many Record's' the Table of this Node has.
+     * Gets the number of rows the Table of this Node has.
+     * @return How many rows the Table of this Node has.
      */
     public int tableSize() {
-        return this.table.getRecords().size();
+        return this.table.size();
     }
 
     /**
      * Splits this Node, based on a Feature that will give the maximum
      * information gain. After that, automatically splits its child Node's' too.
-     * If this Node is already split, this method does nothing.
-     * @param minCapacity The minimum number of Record's' a Node must have,
-     * after a split.
+     * If this Node is already split, this method does nothing. The whole
+     * subtree is grown sequentially, in the calling thread.
+     * @param minCapacity The minimum number of rows a Node must have, after a
+     * split.
      */
     public void split(final int minCapacity) {
-        //Checks if this Node is already split
-        if (!this.childNodes.isEmpty()) {
+        //Checks if this Node was not split
+        if (!this.splitOnce(minCapacity)) {
             return;
         }//end if
 
-        //Checks if this Node does not have the minimum number of Record's'
-        //required for the split to take place
-        if (this.tableSize() < minCapacity) {
+        //Splits the child Node's' on their optimal Feature
+        for (Node<T> child : this.childNodes) {
+            //Splits the current child Node on its optimal Feature
+            if (child != null) {
+                child.split(minCapacity);
+            }//end if
+        }//end for
+    }
+
+    /**
+     * Splits this Node, based on a Feature that will give the maximum
+     * information gain. After that, automatically splits its child Node's' too,
+     * as tasks of the ForkJoinPool of a TrainingContext. Every subtree whose
+     * root has at least as many rows as the sequential threshold of the
+     * TrainingContext is grown as a separate task, while smaller subtrees are
+     * grown sequentially, inside the task of their parent. If this Node is
+     * already split, this method does nothing.
+     * @param minCapacity The minimum number of rows a Node must have, after a
+     * split.
+     * @param context The TrainingContext to grow the subtree of this Node in.
+     * If it is sequential, the subtree is grown in the calling thread.
+     */
+    public void split(final int minCapacity,
+            @NotNull TrainingContext context) {
+        //Checks if the subtree must be grown sequentially
+        if (context.isSequential()) {
+            this.split(minCapacity);
             return;
         }//end if
 
-        //Gets the title of the optimal Feature, for splitting this Node
-        String optFtrTitle = this.table.optimalFeature();
-        //The split Tables of this Node on the optimal Feature
-        Map<Object, Table<T>> splitTables = this.table.split(optFtrTitle,
-                minCapacity);
+        context.getPool().invoke(new SplitTask<>(this, minCapacity,
+                context.getSequentialThreshold()));
+    }
 
-        //Checks if splitTables contains less than 2 elements
-        if (splitTables.size() < 2) {
-            return;
+    /**
+     * Grows the subtree of this Node best-first (leaf-wise). The candidate
+     * leaves are kept in a priority queue, keyed by the information gain of
+     * their optimal Feature, and the best one is always split next, until the
+     * queue is empty or a limit of the given TreeBudget is reached. A
+     * candidate whose split would take the subtree past the maximum number of
+     * leaves (a multiway split on a discrete Feature) is skipped, and the next
+     * one is tried, so the subtree never has more leaves than the budget. The
+     * subtree is grown sequentially, in the calling thread.
+     * @param minCapacity The minimum number of rows a Node must have, after a
+     * split.
+     * @param budget The limits of the number of leaves, the depth and the
+     * minimum information gain of a split.
+     */
+    public void split(final int minCapacity, @NotNull TreeBudget budget) {
+        //The candidate leaves, with the best information gain first
+        PriorityQueue<Candidate<T>> candidates = new PriorityQueue<>();
+        //Checks if the depth budget allows this Node to be split
+        if (budget.getMaxDepth() > 0) {
+            candidates.add(new Candidate<>(this, 0));
         }//end if
 
-        //Populates this.childNodes Map
-        for (Map.Entry<Object, Table<T>> e : splitTables.entrySet()) {
-            //Adds a new child Node in this Node
-            this.childNodes.put(e.getKey(), new Node<>(e.getValue()));
+        //The number of leaves of the subtree
+        int leaves = 1;
+        while (!candidates.isEmpty() && leaves < budget.getMaxLeaves()) {
+            Candidate<T> best = candidates.poll();
+            //Checks if the best candidate gains too little, so do the rest
+            if (best.gain < budget.getMinGain()) {
+                break;
+            }//end if
+
+            //Checks if the split of the best candidate would take the subtree
+            //past the budget of leaves, so the next candidate is tried
+            //instead. Only a multiway split on a discrete Feature can, since
+            //a split on a continuous one adds at most 1 leaf
+            Table<T> table = best.node.table;
+            int f = table.optimalSlot();
+            if (table.getDataset().type(f) == Feature.Type.DISCRETE &&
+                    leaves + table.splitCount(f, minCapacity) - 1 >
+                    budget.getMaxLeaves()) {
+                continue;
+            }//end if
+
+            //Checks if the best candidate cannot be split
+            if (!best.node.splitOnce(minCapacity)) {
+                continue;
+            }//end if
+
+            for (Node<T> child : best.node.childNodes) {
+                //Checks if the current child Node can be a candidate
+                if (child != null && best.depth + 1 < budget.getMaxDepth() &&
+                        child.tableSize() >= minCapacity) {
+                    candidates.add(new Candidate<>(child, best.depth + 1));
+                }//end if
+
+                leaves += child == null ? 0 : 1;
+            }//end for
+
+            //The split Node is no longer a leaf
+            leaves--;
+        }//end while
+    }
+
+    /**
+     * Represents a candidate leaf of a tree that is grown best-first, ordered
+     * by the information gain of its optimal Feature, from the best to the
+     * worst.
+     * @param <T> The type of the output variable (class/category) of the rows
+     * of the Node.
+     */
+    private static class Candidate<T> implements Comparable<Candidate<T>> {
+
+        /**
+         * The candidate leaf Node.
+         */
+        private final Node<T> node;
+
+        /**
+         * The depth of the Node, with the root Node at a depth of 0.
+         */
+        private final int depth;
+
+        /**
+         * The information gain of splitting the Node on its optimal Feature.
+         */
+        private final double gain;
+
+        /**
+         * Creates a Candidate, given its Node and depth.
+         * @param node The candidate leaf Node.
+         * @param depth The depth of the Node.
+         */
+        private Candidate(@NotNull Node<T> node, int depth) {
+            this.node = node;
+            this.depth = depth;
+            this.gain = node.table.optimalGain();
+        }
+
+        @Override
+        public int compareTo(@NotNull Candidate<T> o) {
+            return Double.compare(o.gain, this.gain);
+        }
+
+    }//end inner class Candidate
+
+    /**
+     * Splits this Node, based on a Feature that will give the maximum
+     * information gain, without splitting its child Node's'.
+     * @param minCapacity The minimum number of rows a Node must have, after a
+     * split.
+     * @return True if this Node was split, otherwise false if it was already
+     * split, or it cannot be split.
+     */
+    private boolean splitOnce(final int minCapacity) {
+        //Checks if this Node is already split
+        if (this.feature >= 0) {
+            return false;
+        }//end if
+
+        //Checks if this Node does not have the minimum number of rows required
+        //for the split to take place
+        if (this.tableSize() < minCapacity) {
+            return false;
+        }//end if
+
+        //Gets the slot of the optimal Feature, for splitting this Node
+        int optFtr = this.table.optimalSlot();
+        //The split Tables of this Node on the optimal Feature, by position
+        List<Table<T>> splitTables = this.table.split(optFtr, minCapacity);
+
+        //The number of split Tables that were kept
+        int kept = 0;
+        for (Table<T> t : splitTables) {
+            kept += t == null ? 0 : 1;
         }//end for
 
-        //Sets the title of the Feature this Node examines
-        this.featureTitle = optFtrTitle;
+        //Checks if splitTables contains less than 2 elements
+        if (kept < 2) {
+            return false;
+        }//end if
 
-        //Splits the child Node's' on their optimal Feature
-        for (Map.Entry<Object, Node<T>> e : this.childNodes.entrySet()) {
-            //Splits the current child Node on its optimal Feature
-            e.getValue().split(minCapacity);
+        //Populates this.childNodes List
+        for (Table<T> t : splitTables) {
+            //Adds a new child Node in this Node
+            this.childNodes.add(t == null ? null : new Node<>(t));
         }//end for
+
+        //Sets the slot of the Feature this Node examines
+        this.feature = optFtr;
+        return true;
     }
 
-}//end class Node
\ No newline at end of file
+    /**
+     * Represents the growth of the subtree of a Node, as a task of a
+     * ForkJoinPool.
+     * @param <T> The type of the output variable (class/category) of the rows
+     * of the Node.
+     */
+    private static class SplitTask<T> extends RecursiveAction {
+
+        /**
+         * The version of the serialized form of SplitTask.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The root Node of the subtree to grow.
+         */
+        private final Node<T> node;
+
+        /**
+         * The minimum number of rows a Node must have, after a split.
+         */
+        private final int minCapacity;
+
+        /**
+         * The minimum number of rows of a Node, for its subtree to be grown as
+         * a separate task.
+         */
+        private final int forkThreshold;
+
+        /**
+         * Creates a SplitTask, given the root Node of the subtree to grow.
+         * @param node The root Node of the subtree to grow.
+         * @param minCapacity The minimum number of rows a Node must have, after
+         * a split.
+         * @param forkThreshold The minimum number of rows of a Node, for its
+         * subtree to be grown as a separate task.
+         */
+        private SplitTask(@NotNull Node<T> node, int minCapacity,
+                int forkThreshold) {
+            this.node = node;
+            this.minCapacity = minCapacity;
+            this.forkThreshold = forkThreshold;
+        }
+
+        @Override
+        protected void compute() {
+            //Checks if the subtree is too small to be worth forking
+            if (this.node.tableSize() < this.forkThreshold) {
+                this.node.split(this.minCapacity);
+                return;
+            }//end if
+
+            //Checks if the Node was not split
+            if (!this.node.splitOnce(this.minCapacity)) {
+                return;
+            }//end if
+
+            //The tasks that grow the subtrees of the child Node's'
+            List<SplitTask<T>> tasks = new ArrayList<>(
+                    this.node.childNodes.size());
+            for (Node<T> child : this.node.childNodes) {
+                if (child != null) {
+                    tasks.add(new SplitTask<>(child, this.minCapacity,
+                            this.forkThreshold));
+                }//end if
+            }//end for
+
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+    }//end inner class SplitTask
+
+}//end class Node
@@ -64,6 +64,17 @@ public class Record<T> {
         return Collections.unmodifiableMap(this.features);
     }
 
+    /**
+     * Gets a Feature of this Record, given its title. Unlike getFeatures(), it
+     * allocates no wrapper Map.
+     * @param title The title of the Feature.
+     * @return The Feature of this Record with the given title, or null if this
+     * Record has no such Feature.
+     */
+    public @Nullable Feature<?> getFeature(@NotNull String title) {
+        return this.features.get(title);
+    }
+
     /**
      * Gets the class/category of this Record. Non null values indicate that the
      * target is present, otherwise null values indicate that it is not.
@@ -0,0 +1,539 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the coordinator of the shard-parallel training of AdaBoostM1 with
+ * DecisionStump's', over ShardWorker processes that own the rows. The rows and
+ * their weights never leave the workers: in every round, the ShardCoordinator
+ * sums the weighted class histograms of the Feature's' of all the shards,
+ * finds the best split from them, as DecisionStump does for a quantized
+ * Dataset, and sends the split and its beta back, so that every ShardWorker
+ * reweights its own rows. A round costs a single exchange of histograms,
+ * whose size depends on the number of bins and classes, not of rows.
+ * <p>
+ * The ShardWorker's' read their shards with Dataset.read, so the target
+ * values and the values of the discrete Feature's' are the String tokens of
+ * the .csv file, and they are exchanged as such. Hence the trained model is
+ * always an AdaBoostM1&lt;String&gt;, and a Record it classifies must hold its
+ * discrete values as String's' too: any other value is unknown to the model.
+ */
+public class ShardCoordinator {
+
+    /**
+     * The command that ends the training.
+     */
+    static final byte STOP = 0;
+
+    /**
+     * The command that asks for the histograms of a round.
+     */
+    static final byte ROUND = 1;
+
+    /**
+     * The command that sends the split and the beta of a round.
+     */
+    static final byte UPDATE = 2;
+
+    /**
+     * The maximum number of values of the quantile sketch of a continuous
+     * Feature, that every ShardWorker sends to agree on the bins.
+     */
+    static final int SKETCH = 1024;
+
+    /**
+     * The input stream of every ShardWorker.
+     */
+    private final List<DataInputStream> ins;
+
+    /**
+     * The output stream of every ShardWorker.
+     */
+    private final List<DataOutputStream> outs;
+
+    /**
+     * The titles of the Feature's', indexed by their slot.
+     */
+    private String[] titles;
+
+    /**
+     * The global Dictionary of the values of every discrete Feature, indexed
+     * by its slot. Contains null at the slots of the continuous Feature's'.
+     */
+    private List<Dictionary<String>> codes;
+
+    /**
+     * The upper (included) bounds of the bins of every continuous Feature,
+     * indexed by its slot. Contains null at the slots of the discrete
+     * Feature's'.
+     */
+    private double[][] bounds;
+
+    /**
+     * The global Dictionary of the target values.
+     */
+    private Dictionary<String> labels;
+
+    /**
+     * Creates a ShardCoordinator, given the connections to its ShardWorker's'.
+     * @param sockets A connected Socket per ShardWorker.
+     * @throws IOException If a connection fails.
+     * @throws IllegalArgumentException If sockets.isEmpty() == true.
+     */
+    public ShardCoordinator(@NotNull Collection<Socket> sockets)
+            throws IOException {
+        //Validates that there is at least 1 ShardWorker
+        if (sockets.isEmpty()) {
+            throw new IllegalArgumentException("Argument sockets must " +
+                    "contain at least 1 element.");
+        }//end if
+
+        this.ins = new ArrayList<>(sockets.size());
+        this.outs = new ArrayList<>(sockets.size());
+        for (Socket socket : sockets) {
+            this.ins.add(new DataInputStream(new BufferedInputStream(
+                    socket.getInputStream())));
+            this.outs.add(new DataOutputStream(new BufferedOutputStream(
+                    socket.getOutputStream())));
+        }//end for
+    }
+
+    /**
+     * Trains an AdaBoostM1 model of DecisionStump's' on the rows of all the
+     * ShardWorker's', and stops them. Training stops early if the best split
+     * of a round has a weighted error of at least 0.5, or of 0.
+     * @param maxBins The maximum number of bins of every continuous Feature.
+     * @param maxModels The maximum number of rounds.
+     * @return The trained AdaBoostM1 model, with no training state, over the
+     * String target values of the .csv file.
+     * @throws IOException If a connection fails, or the ShardWorker's' do not
+     * have the same Feature's'.
+     * @throws IllegalArgumentException If maxBins < 2.
+     * @throws IllegalArgumentException If maxModels <= 0.
+     */
+    public @NotNull AdaBoostM1<String> train(int maxBins, int maxModels)
+            throws IOException {
+        //Validates that maxBins >= 2
+        if (maxBins < 2) {
+            throw new IllegalArgumentException("Argument maxBins must be " +
+                    ">= 2.");
+        }//end if
+
+        //Validates that maxModels > 0
+        if (maxModels <= 0) {
+            throw new IllegalArgumentException("Argument maxModels must be " +
+                    "> 0.");
+        }//end if
+
+        this.agreeSchema(maxBins);
+        List<IndexedClassifier<String>> h = new ArrayList<>(maxModels);
+        double[] b = new double[maxModels];
+        for (int t = 0; t < maxModels; t++) {
+            //The summed histogram of every Feature, as (cell x class id)
+            double[][][] tables = this.receiveHistograms();
+            //The weight of every class id, in all the rows
+            double[] total = new double[this.labels.size()];
+            for (double[] cell : tables[0]) {
+                for (int c = 0; c < total.length; c++) {
+                    total[c] += cell[c];
+                }//end for
+            }//end for
+
+            //Finds the best Split of all the Feature's', preferring the
+            //smaller slot on ties
+            DecisionStump.Split best = null;
+            for (int f = 0; f < this.titles.length; f++) {
+                DecisionStump.Split split = this.bounds[f] == null ?
+                        DecisionStump.partition(f, tables[f], total) :
+                        DecisionStump.cut(f, tables[f], this.bounds[f], total);
+                if (best == null || split.error < best.error) {
+                    best = split;
+                }//end if
+            }//end for
+
+            double weight = 0.0;
+            for (double w : total) {
+                weight += w;
+            }//end for
+
+            double e = best.error / weight;
+            //Checks if the split is no better than chance, so it is discarded
+            //and the training stops
+            if (e >= 0.5) {
+                break;
+            }//end if
+
+            b[t] = Math.max(e, AdaBoostM1.MIN_ERROR) / (1.0 - e);
+            h.add(new DecisionStump<>(this.labels, this.titles[best.feature],
+                    this.codes.get(best.feature), best, total));
+            //Checks if the split is perfect, so the weights cannot change
+            if (e == 0.0) {
+                break;
+            }//end if
+
+            this.sendUpdate(best, b[t], best.error + b[t] * (weight -
+                    best.error));
+        }//end for
+
+        for (DataOutputStream out : this.outs) {
+            out.writeByte(ShardCoordinator.STOP);
+            out.flush();
+        }//end for
+
+        return new AdaBoostM1<>(this.labels, h, Arrays.copyOf(b, h.size()));
+    }
+
+    /**
+     * Receives the schemas of the shards, and sends back the global schema:
+     * the total number of rows, the global class ids and value codes, in the
+     * order the ShardWorker's' first report them, and the bin bounds of every
+     * continuous Feature, from the merged quantile sketches.
+     * @param maxBins The maximum number of bins of every continuous Feature.
+     * @throws IOException If a connection fails, or the ShardWorker's' do not
+     * have the same Feature's'.
+     */
+    private void agreeSchema(int maxBins) throws IOException {
+        boolean[] discrete = null;
+        int total = 0;
+        this.labels = new Dictionary<>();
+        List<Dictionary<String>> values = new ArrayList<>();
+        //The sketch values of every continuous Feature, and the number of rows
+        //every sketch value stands for
+        List<List<double[]>> sketches = new ArrayList<>();
+        for (DataInputStream in : this.ins) {
+            String[] titles = new String[in.readInt()];
+            boolean[] types = new boolean[titles.length];
+            for (int f = 0; f < titles.length; f++) {
+                titles[f] = in.readUTF();
+                types[f] = in.readBoolean();
+            }//end for
+
+            //Checks if the 1st shard defines the Feature's'
+            if (discrete == null) {
+                this.titles = titles;
+                discrete = types;
+                for (int f = 0; f < titles.length; f++) {
+                    values.add(new Dictionary<>());
+                    sketches.add(new ArrayList<>());
+                }//end for
+            } else if (!Arrays.equals(this.titles, titles) ||
+                    !Arrays.equals(discrete, types)) {
+                throw new IOException("All the shards must have the same " +
+                        "Feature's'.");
+            }//end if
+
+            int rows = in.readInt();
+            total += rows;
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                this.labels.add(in.readUTF());
+            }//end for
+
+            for (int f = 0; f < titles.length; f++) {
+                size = in.readInt();
+                //Checks if the Feature is discrete
+                if (discrete[f]) {
+                    for (int i = 0; i < size; i++) {
+                        values.get(f).add(in.readUTF());
+                    }//end for
+
+                    continue;
+                }//end if
+
+                for (int i = 0; i < size; i++) {
+                    sketches.get(f).add(new double[]{in.readDouble(),
+                            (double) rows / size});
+                }//end for
+            }//end for
+        }//end for
+
+        this.codes = new ArrayList<>(this.titles.length);
+        this.bounds = new double[this.titles.length][];
+        for (int f = 0; f < this.titles.length; f++) {
+            this.codes.add(discrete[f] ? values.get(f) : null);
+            //Checks if the Feature is continuous
+            if (!discrete[f]) {
+                this.bounds[f] = ShardCoordinator.bounds(sketches.get(f),
+                        total, maxBins);
+            }//end if
+        }//end for
+
+        for (DataOutputStream out : this.outs) {
+            out.writeInt(total);
+            ShardCoordinator.writeValues(out, this.labels);
+            for (int f = 0; f < this.titles.length; f++) {
+                //Checks if the Feature is discrete
+                if (this.bounds[f] == null) {
+                    ShardCoordinator.writeValues(out, this.codes.get(f));
+                    continue;
+                }//end if
+
+                out.writeInt(this.bounds[f].length);
+                for (double bound : this.bounds[f]) {
+                    out.writeDouble(bound);
+                }//end for
+            }//end for
+
+            out.flush();
+        }//end for
+    }
+
+    /**
+     * Writes the values of a Dictionary, in the order of their ids.
+     * @param out The stream to write to.
+     * @param values A Dictionary of String's'.
+     * @throws IOException If the connection fails.
+     */
+    private static void writeValues(@NotNull DataOutputStream out,
+            @NotNull Dictionary<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values.values()) {
+            out.writeUTF(value);
+        }//end for
+    }
+
+    /**
+     * Finds the bin bounds of a continuous Feature, of approximately equal
+     * frequency, from the quantile sketches of all the shards. The last bound
+     * is the maximum of all the shards, so every value falls in a bin.
+     * @param sketch The sketch values of all the shards, each with the number
+     * of rows it stands for.
+     * @param total The number of rows of all the shards.
+     * @param maxBins The maximum number of bins.
+     * @return The upper (included) bounds of the bins, in ascending order.
+     */
+    static @NotNull double[] bounds(@NotNull List<double[]> sketch,
+            int total, int maxBins) {
+        sketch.sort((x, y) -> Double.compare(x[0], y[0]));
+        double[] bounds = new double[maxBins];
+        int binCount = 0;
+        //The number of rows at or below the current sketch value
+        double rows = 0.0;
+        for (int i = 0; i < sketch.size(); i++) {
+            rows += sketch.get(i)[1];
+            double value = sketch.get(i)[0];
+            //Checks if the next sketch value is equal, so they fall in the
+            //same bin
+            if (i + 1 < sketch.size() && sketch.get(i + 1)[0] == value) {
+                continue;
+            }//end if
+
+            //Closes the current bin, if it has its share of the rows, or the
+            //sketch values are exhausted
+            if (i + 1 == sketch.size() || (binCount < maxBins - 1 && rows >=
+                    (double) (binCount + 1) * total / maxBins)) {
+                bounds[binCount++] = value;
+            }//end if
+        }//end for
+
+        return Arrays.copyOf(bounds, binCount);
+    }
+
+    /**
+     * Finds the bin of a value of a continuous Feature.
+     * @param bounds The upper (included) bounds of the bins, in ascending
+     * order.
+     * @param value A value of the continuous Feature.
+     * @return The index of the 1st bin with a bound of at least value, or the
+     * last bin if value is above all the bounds.
+     */
+    static int bin(@NotNull double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }//end if
+        }//end while
+
+        return low;
+    }
+
+    /**
+     * Asks every ShardWorker for the histograms of a round, and sums them.
+     * @return The summed weighted class histogram of every Feature, indexed
+     * by its slot, as (cell x class id).
+     * @throws IOException If a connection fails.
+     */
+    private @NotNull double[][][] receiveHistograms() throws IOException {
+        for (DataOutputStream out : this.outs) {
+            out.writeByte(ShardCoordinator.ROUND);
+            out.flush();
+        }//end for
+
+        double[][][] tables = new double[this.titles.length][][];
+        for (int f = 0; f < this.titles.length; f++) {
+            int cellCount = this.bounds[f] == null ? this.codes.get(f).size() :
+                    this.bounds[f].length;
+            tables[f] = new double[cellCount][this.labels.size()];
+        }//end for
+
+        for (DataInputStream in : this.ins) {
+            for (double[][] table : tables) {
+                for (double[] cell : table) {
+                    for (int c = 0; c < cell.length; c++) {
+                        cell[c] += in.readDouble();
+                    }//end for
+                }//end for
+            }//end for
+        }//end for
+
+        return tables;
+    }
+
+    /**
+     * Sends the split and the beta of a round to every ShardWorker, as the
+     * class id predicted for every cell of the Feature of the split.
+     * @param split The split of the round.
+     * @param beta The beta of the round.
+     * @param z The sum of the weights of all the rows, after the weights of
+     * the correct rows are multiplied by beta.
+     * @throws IOException If a connection fails.
+     */
+    private void sendUpdate(@NotNull DecisionStump.Split split, double beta,
+            double z) throws IOException {
+        int f = split.feature;
+        int[] classes = split.classes;
+        //Checks if the Feature is continuous, so its bins are mapped to the
+        //sides of the split
+        if (this.bounds[f] != null) {
+            classes = new int[this.bounds[f].length];
+            for (int b = 0; b < classes.length; b++) {
+                classes[b] = this.bounds[f][b] <= split.threshold ?
+                        split.classes[0] : split.classes[1];
+            }//end for
+        }//end if
+
+        for (DataOutputStream out : this.outs) {
+            out.writeByte(ShardCoordinator.UPDATE);
+            out.writeInt(f);
+            out.writeInt(classes.length);
+            for (int c : classes) {
+                out.writeInt(c);
+            }//end for
+
+            out.writeDouble(beta);
+            out.writeDouble(z);
+            out.flush();
+        }//end for
+    }
+
+    /**
+     * Trains an AdaBoostM1 model of DecisionStump's' on a .csv file, with a
+     * ShardWorker process per shard, all on the local host. Every ShardWorker
+     * is started as a JVM with the class path of this JVM, reads only its own
+     * shard of the file, and connects back over the loopback interface.
+     * @param path The path of the .csv file.
+     * @param workers The number of ShardWorker processes.
+     * @param maxBins The maximum number of bins of every continuous Feature.
+     * @param maxModels The maximum number of rounds.
+     * @return The trained AdaBoostM1 model.
+     * @throws IOException If a process cannot be started, or a connection
+     * fails.
+     * @throws InterruptedException If the wait for the processes is
+     * interrupted.
+     * @throws IllegalArgumentException If workers <= 0.
+     */
+    public static @NotNull AdaBoostM1<String> train(@NotNull String path,
+            int workers, int maxBins, int maxModels)
+            throws IOException, InterruptedException {
+        //Validates that workers > 0
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Argument workers must be " +
+                    "> 0.");
+        }//end if
+
+        String java = System.getProperty("java.home") + File.separator +
+                "bin" + File.separator + "java";
+        List<Process> processes = new ArrayList<>(workers);
+        List<Socket> sockets = new ArrayList<>(workers);
+        try (ServerSocket server = new ServerSocket(0, workers,
+                InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < workers; i++) {
+                processes.add(new ProcessBuilder(java, "-cp",
+                        System.getProperty("java.class.path"),
+                        ShardWorker.class.getName(),
+                        server.getInetAddress().getHostAddress(),
+                        String.valueOf(server.getLocalPort()), path,
+                        String.valueOf(i), String.valueOf(workers))
+                        .inheritIO()
+                        .start());
+            }//end for
+
+            //Waits for every ShardWorker to connect, in any order
+            server.setSoTimeout(60_000);
+            for (int i = 0; i < workers; i++) {
+                sockets.add(server.accept());
+            }//end for
+
+            return new ShardCoordinator(sockets).train(maxBins, maxModels);
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }//end for
+
+            for (Process process : processes) {
+                //Checks if the ShardWorker did not exit after STOP
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroy();
+                }//end if
+            }//end for
+        }//end try
+    }
+
+    /**
+     * Trains an AdaBoostM1 model over local ShardWorker processes, and prints
+     * the number of rounds and its success rate on the rows of the .csv file.
+     * @param args The path of the .csv file, the number of ShardWorker
+     * processes, the maximum number of rounds and, optionally, the maximum
+     * number of bins (64 by default).
+     * @throws IOException If the file cannot be read, or a connection fails.
+     * @throws InterruptedException If the wait for the processes is
+     * interrupted.
+     */
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        //Validates that the required arguments are given
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: ShardCoordinator file " +
+                    "workers rounds [maxBins]");
+        }//end if
+
+        int maxBins = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        AdaBoostM1<String> model = ShardCoordinator.train(args[0],
+                Integer.parseInt(args[1]), maxBins, Integer.parseInt(args[2]));
+
+        //Reads all the rows, only to evaluate the model
+        Dataset<String> dataset = Dataset.read(args[0], 0, 1);
+        int[] predicted = new int[dataset.size()];
+        model.predict(new ColumnBlock(dataset), predicted);
+        int correct = 0;
+        for (int i = 0; i < predicted.length; i++) {
+            if (model.label(predicted[i]).equals(dataset.label(
+                    dataset.targets()[i]))) {
+                correct++;
+            }//end if
+        }//end for
+
+        System.out.println("rounds: " + model.rounds());
+        System.out.println("success rate: " +
+                (double) correct / predicted.length);
+    }
+
+}//end class ShardCoordinator
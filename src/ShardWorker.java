@@ -0,0 +1,327 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a worker process of the shard-parallel training of AdaBoostM1
+ * with DecisionStump's'. A ShardWorker owns a shard of the rows of a .csv file,
+ * with their sample weights, and never sends them. In every round it sends to
+ * the ShardCoordinator only the weighted class histogram of every Feature of
+ * its shard, over the bins and value codes agreed for all the shards, and it
+ * reweights its rows by the split and the beta the ShardCoordinator sends back.
+ */
+public class ShardWorker {
+
+    /**
+     * The rows of the shard, encoded into the primitive columns of a Dataset.
+     * Contains null after the schema is received, once the rows are encoded
+     * into cells.
+     */
+    private Dataset<String> shard;
+
+    /**
+     * The bin or global value code of every row, for every Feature, indexed by
+     * its slot. Contains null before the schema is received.
+     */
+    private int[][] cells;
+
+    /**
+     * The number of bins or global value codes of every Feature, indexed by
+     * its slot.
+     */
+    private int[] cellCounts;
+
+    /**
+     * The global class id of the target value of every row.
+     */
+    private int[] targets;
+
+    /**
+     * The sample weight of every row. The weights of all the shards sum to 1.
+     */
+    private double[] weights;
+
+    /**
+     * The number of global class ids.
+     */
+    private int classCount;
+
+    /**
+     * Creates a ShardWorker, given the rows of its shard.
+     * @param shard The rows of the shard, as read by Dataset.read, with the
+     * Feature's' in the order of the header of the .csv file.
+     */
+    public ShardWorker(@NotNull Dataset<String> shard) {
+        this.shard = shard;
+    }
+
+    /**
+     * Serves a ShardCoordinator, until it sends STOP. At first, the schema of
+     * the shard is sent: the titles and the types of the Feature's', the
+     * number of rows, the distinct target values, the distinct values of every
+     * discrete Feature and a quantile sketch of every continuous one. Then the
+     * global class ids, value codes and bin bounds are received, and the
+     * rounds are served.
+     * @param in The stream of the messages of the ShardCoordinator.
+     * @param out The stream of the messages to the ShardCoordinator.
+     * @throws IOException If the connection fails.
+     */
+    public void serve(@NotNull DataInputStream in,
+            @NotNull DataOutputStream out) throws IOException {
+        this.sendSchema(out);
+        this.receiveSchema(in);
+        while (true) {
+            byte command = in.readByte();
+            //Checks if the training has ended
+            if (command == ShardCoordinator.STOP) {
+                return;
+            }//end if
+
+            //Checks if the ShardCoordinator asks for the histograms
+            if (command == ShardCoordinator.ROUND) {
+                this.sendHistograms(out);
+            } else if (command == ShardCoordinator.UPDATE) {
+                this.update(in);
+            } else {
+                throw new IOException("Unknown command " + command + ".");
+            }//end if
+        }//end while
+    }
+
+    /**
+     * Sends the schema of the shard to the ShardCoordinator.
+     * @param out The stream of the messages to the ShardCoordinator.
+     * @throws IOException If the connection fails.
+     */
+    private void sendSchema(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(this.shard.featureCount());
+        for (int f = 0; f < this.shard.featureCount(); f++) {
+            out.writeUTF(this.shard.title(f));
+            out.writeBoolean(this.shard.type(f) == Feature.Type.DISCRETE);
+        }//end for
+
+        out.writeInt(this.shard.size());
+        //The distinct target values, in the order they are first seen
+        ShardWorker.writeValues(out, this.shard.getLabels().values());
+        for (int f = 0; f < this.shard.featureCount(); f++) {
+            //Checks if the Feature is discrete
+            if (this.shard.type(f) == Feature.Type.DISCRETE) {
+                ShardWorker.writeValues(out,
+                        this.shard.dictionary(f).values());
+                continue;
+            }//end if
+
+            double[] column = this.shard.continuous(f);
+            int[] sorted = this.shard.sorted(f);
+            //The sketch keeps evenly spaced order statistics, from the minimum
+            //to the maximum of the shard, taken from the presorted rows
+            int size = Math.min(ShardCoordinator.SKETCH, sorted.length);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(column[sorted[size == 1 ? 0 : (int) ((long) i *
+                        (sorted.length - 1) / (size - 1))]]);
+            }//end for
+        }//end for
+
+        out.flush();
+    }
+
+    /**
+     * Writes values, in the order of their ids. The values of a Dataset read
+     * by Dataset.read are the String tokens of the .csv file.
+     * @param out The stream to write to.
+     * @param values The values, in the order of their ids.
+     * @throws IOException If the connection fails.
+     */
+    private static void writeValues(@NotNull DataOutputStream out,
+            @NotNull List<?> values) throws IOException {
+        out.writeInt(values.size());
+        for (Object value : values) {
+            out.writeUTF(value.toString());
+        }//end for
+    }
+
+    /**
+     * Receives the global schema from the ShardCoordinator, and encodes the
+     * rows of the shard into global class ids, value codes and bins, through
+     * the class ids and value codes of the shard. The initial weight of every
+     * row is 1 / (number of rows of all the shards). The Dataset of the shard
+     * is released afterwards.
+     * @param in The stream of the messages of the ShardCoordinator.
+     * @throws IOException If the connection fails, or a value is not in the
+     * global schema.
+     */
+    private void receiveSchema(@NotNull DataInputStream in) throws IOException {
+        int m = this.shard.size();
+        int featureCount = this.shard.featureCount();
+        int total = in.readInt();
+        Dictionary<String> labels = ShardWorker.readValues(in);
+        this.classCount = labels.size();
+        //The global class id of every class id of the shard
+        int[] classes = ShardWorker.ids(labels,
+                this.shard.getLabels().values());
+        this.targets = new int[m];
+        int[] targets = this.shard.targets();
+        for (int r = 0; r < m; r++) {
+            this.targets[r] = classes[targets[r]];
+        }//end for
+
+        this.cells = new int[featureCount][m];
+        this.cellCounts = new int[featureCount];
+        for (int f = 0; f < featureCount; f++) {
+            //Checks if the Feature is discrete
+            if (this.shard.type(f) == Feature.Type.DISCRETE) {
+                Dictionary<String> values = ShardWorker.readValues(in);
+                this.cellCounts[f] = values.size();
+                //The global value code of every value code of the shard
+                int[] codes = ShardWorker.ids(values,
+                        this.shard.dictionary(f).values());
+                int[] column = this.shard.discrete(f);
+                for (int r = 0; r < m; r++) {
+                    this.cells[f][r] = codes[column[r]];
+                }//end for
+
+                continue;
+            }//end if
+
+            double[] bounds = new double[in.readInt()];
+            for (int b = 0; b < bounds.length; b++) {
+                bounds[b] = in.readDouble();
+            }//end for
+
+            this.cellCounts[f] = bounds.length;
+            double[] column = this.shard.continuous(f);
+            for (int r = 0; r < m; r++) {
+                this.cells[f][r] = ShardCoordinator.bin(bounds, column[r]);
+            }//end for
+        }//end for
+
+        this.weights = new double[m];
+        Arrays.fill(this.weights, 1.0 / total);
+        //Releases the rows, which are encoded into the cells
+        this.shard = null;
+    }
+
+    /**
+     * Reads String values into a Dictionary, in the order of their ids.
+     * @param in The stream to read from.
+     * @return A Dictionary with the values.
+     * @throws IOException If the connection fails.
+     */
+    private static @NotNull Dictionary<String> readValues(
+            @NotNull DataInputStream in) throws IOException {
+        Dictionary<String> values = new Dictionary<>();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }//end for
+
+        return values;
+    }
+
+    /**
+     * Gets the global ids of the values of the shard.
+     * @param global The global Dictionary of the values.
+     * @param values The values of the shard, in the order of their ids.
+     * @return The global id of every id of the shard.
+     * @throws IOException If a value is not in the global Dictionary.
+     */
+    private static @NotNull int[] ids(@NotNull Dictionary<String> global,
+            @NotNull List<?> values) throws IOException {
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = global.id(values.get(i).toString());
+            //Validates that the ShardCoordinator knows the value
+            if (ids[i] < 0) {
+                throw new IOException("Value " + values.get(i) + " is not " +
+                        "in the global schema.");
+            }//end if
+        }//end for
+
+        return ids;
+    }
+
+    /**
+     * Sends the weighted class histogram of every Feature of the shard, as
+     * (cell x class id) doubles, 1 Feature after the other.
+     * @param out The stream of the messages to the ShardCoordinator.
+     * @throws IOException If the connection fails.
+     */
+    private void sendHistograms(@NotNull DataOutputStream out)
+            throws IOException {
+        for (int f = 0; f < this.cells.length; f++) {
+            double[] table = new double[this.cellCounts[f] * this.classCount];
+            int[] column = this.cells[f];
+            for (int r = 0; r < column.length; r++) {
+                table[column[r] * this.classCount + this.targets[r]] +=
+                        this.weights[r];
+            }//end for
+
+            for (double cell : table) {
+                out.writeDouble(cell);
+            }//end for
+        }//end for
+
+        out.flush();
+    }
+
+    /**
+     * Reweights the rows of the shard after a round: the weights of the rows
+     * the split classifies correctly are multiplied by beta, and all the
+     * weights are divided by the global sum of the new weights.
+     * @param in The stream of the messages of the ShardCoordinator, with the
+     * slot of the Feature of the split, the class id of every cell of it,
+     * beta and the global sum.
+     * @throws IOException If the connection fails.
+     */
+    private void update(@NotNull DataInputStream in) throws IOException {
+        int[] column = this.cells[in.readInt()];
+        int[] classes = new int[in.readInt()];
+        for (int b = 0; b < classes.length; b++) {
+            classes[b] = in.readInt();
+        }//end for
+
+        double beta = in.readDouble();
+        double z = in.readDouble();
+        for (int r = 0; r < column.length; r++) {
+            if (classes[column[r]] == this.targets[r]) {
+                this.weights[r] *= beta;
+            }//end if
+
+            this.weights[r] /= z;
+        }//end for
+    }
+
+    /**
+     * Runs a ShardWorker process, that connects to a ShardCoordinator and
+     * serves it, until the training ends.
+     * @param args The host and the port of the ShardCoordinator, the path of
+     * the .csv file, the index of the shard and the number of shards.
+     * @throws IOException If the file cannot be read, or the connection fails.
+     */
+    public static void main(String[] args) throws IOException {
+        //Validates that all the arguments are given
+        if (args.length != 5) {
+            throw new IllegalArgumentException("Usage: ShardWorker host port " +
+                    "file shard shardCount");
+        }//end if
+
+        Dataset<String> shard = Dataset.read(args[2],
+                Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+            new ShardWorker(shard).serve(in, out);
+        }//end try
+    }
+
+}//end class ShardWorker
@@ -0,0 +1,395 @@
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the split statistics of a set of rows of a Dataset. The frequency
+ * of every class id and the entropy of the rows are calculated once, when the
+ * SplitStatistics are created, and every candidate split is then scored from a
+ * (cell x class id) contingency table, built in a single pass over the rows.
+ * The rows may carry sample weights, in a double[] aligned with the row
+ * indices of the Dataset, in which case every frequency is a sum of weights.
+ * A cell is a value code of a discrete Feature or a bin of a quantized
+ * Feature. The split bound of a continuous Feature is found with a sweep over
+ * its presorted rows.
+ */
+public class SplitStatistics {
+
+    /**
+     * Represents the best cut of a sequence of ordered cells or rows, i.e. the
+     * cell or row that is the last one of the low side of the split.
+     */
+    public static class Cut {
+
+        /**
+         * The index of the last cell or row of the low side of this Cut.
+         */
+        private final int index;
+
+        /**
+         * The information gain of this Cut.
+         */
+        private final double gain;
+
+        /**
+         * Creates a Cut, given the last cell or row of its low side and its
+         * information gain.
+         * @param index The index of the last cell or row of the low side of
+         * this Cut.
+         * @param gain The information gain of this Cut.
+         */
+        private Cut(int index, double gain) {
+            this.index = index;
+            this.gain = gain;
+        }
+
+        /**
+         * Gets the index of the last cell or row of the low side of this Cut.
+         * @return The index of the last cell or row of the low side of this
+         * Cut.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Gets the information gain of this Cut.
+         * @return The information gain of this Cut.
+         */
+        public double getGain() {
+            return this.gain;
+        }
+
+    }//end inner class Cut
+
+    /**
+     * The column of class ids of the target values.
+     */
+    private final int[] targets;
+
+    /**
+     * The sample weight of every row of the Dataset, indexed by row. Contains
+     * null if every row has a weight of 1.
+     */
+    private final double[] weights;
+
+    /**
+     * An array that contains the indices of the rows of these SplitStatistics,
+     * in the positions [from, to).
+     */
+    private final int[] rows;
+
+    /**
+     * The position in rows array, of the 1st row of these SplitStatistics.
+     */
+    private final int from;
+
+    /**
+     * The position in rows array, after the last row of these SplitStatistics.
+     */
+    private final int to;
+
+    /**
+     * The (weighted) frequency of every class id, in the rows of these
+     * SplitStatistics.
+     */
+    private final double[] classFreq;
+
+    /**
+     * The total weight of the rows of these SplitStatistics.
+     */
+    private final double weight;
+
+    /**
+     * The entropy of the target variable, in the rows of these
+     * SplitStatistics.
+     */
+    private final double entropy;
+
+    /**
+     * Calculates the entropy of the target variable, given the frequency of
+     * every class id.
+     * @param freq An array indexed by class id, with the (weighted) frequency
+     * of every class id.
+     * @param size The sum of the elements of freq array.
+     * @return The entropy of the target variable.
+     */
+    public static double entropy(@NotNull double[] freq, double size) {
+        //The entropy of the target variable
+        double entropy = 0.0;
+        //Calculates the entropy
+        for (double f : freq) {
+            //Checks if the current class id is absent
+            if (f <= 0.0) {
+                continue;
+            }//end if
+
+            //Calculates the relative frequency of the current class id
+            double relFreq = f / size;
+            //Subtracts the term of the current class id from the entropy
+            entropy -= relFreq * (Math.log(relFreq) / Math.log(2.0));
+        }//end for
+
+        return entropy;
+    }
+
+    /**
+     * Creates the SplitStatistics of a set of rows of a Dataset.
+     * @param dataset The Dataset the rows belong to.
+     * @param rows The indices of the rows, in dataset.
+     */
+    public SplitStatistics(@NotNull Dataset<?> dataset, @NotNull int[] rows) {
+        this(dataset, null, rows, 0, rows.length);
+    }
+
+    /**
+     * Creates the SplitStatistics of a range of an array of row indices of a
+     * Dataset.
+     * @param dataset The Dataset the rows belong to.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row, or null if every row has a weight of 1.
+     * @param rows An array with the indices of the rows, in dataset.
+     * @param from The position in rows array, of the 1st row.
+     * @param to The position in rows array, after the last row.
+     */
+    public SplitStatistics(@NotNull Dataset<?> dataset,
+            @Nullable double[] weights, @NotNull int[] rows, int from, int to) {
+        this.targets = dataset.targets();
+        this.weights = weights;
+        this.rows = rows;
+        this.from = from;
+        this.to = to;
+        this.classFreq = new double[dataset.classCount()];
+        //The total weight of the rows
+        double weight = 0.0;
+        for (int i = from; i < to; i++) {
+            double w = this.weight(rows[i]);
+            this.classFreq[this.targets[rows[i]]] += w;
+            weight += w;
+        }//end for
+
+        this.weight = weight;
+        this.entropy = SplitStatistics.entropy(this.classFreq, weight);
+    }
+
+    /**
+     * Gets the sample weight of a row.
+     * @param r The index of the row in the Dataset.
+     * @return The weight of row r, or 1 if there are no sample weights.
+     */
+    private double weight(int r) {
+        return this.weights == null ? 1.0 : this.weights[r];
+    }
+
+    /**
+     * Gets the number of rows of these SplitStatistics.
+     * @return The number of rows of these SplitStatistics.
+     */
+    public int size() {
+        return this.to - this.from;
+    }
+
+    /**
+     * Gets the total weight of the rows of these SplitStatistics.
+     * @return The sum of the sample weights of the rows, or their number if
+     * there are no sample weights.
+     */
+    public double weight() {
+        return this.weight;
+    }
+
+    /**
+     * Gets the (weighted) frequency of every class id, in the rows of these
+     * SplitStatistics. The returned array is not a copy, and must not be
+     * modified.
+     * @return An array indexed by class id, with the frequency of every class
+     * id.
+     */
+    public @NotNull double[] classFreq() {
+        return this.classFreq;
+    }
+
+    /**
+     * Gets the entropy of the target variable, in the rows of these
+     * SplitStatistics.
+     * @return The entropy of the target variable.
+     */
+    public double entropy() {
+        return this.entropy;
+    }
+
+    /**
+     * Builds the contingency table of a discrete Feature, in a single pass.
+     * @param codes The column of value codes of the discrete Feature.
+     * @param valueCount The number of distinct value codes.
+     * @return A table with the (weighted) frequency of every class id, for
+     * every value code.
+     */
+    public @NotNull double[][] contingency(@NotNull int[] codes,
+            int valueCount) {
+        double[][] table = new double[valueCount][this.classFreq.length];
+        for (int i = this.from; i < this.to; i++) {
+            int r = this.rows[i];
+            table[codes[r]][this.targets[r]] += this.weight(r);
+        }//end for
+
+        return table;
+    }
+
+    /**
+     * Builds the contingency table (histogram) of a quantized Feature, in a
+     * single pass.
+     * @param bins The column of bin indices of the quantized Feature.
+     * @param binCount The number of bins.
+     * @return A table with the (weighted) frequency of every class id, for
+     * every bin.
+     */
+    public @NotNull double[][] contingency(@NotNull byte[] bins,
+            int binCount) {
+        double[][] table = new double[binCount][this.classFreq.length];
+        for (int i = this.from; i < this.to; i++) {
+            int r = this.rows[i];
+            table[bins[r] & 0xFF][this.targets[r]] += this.weight(r);
+        }//end for
+
+        return table;
+    }
+
+    /**
+     * Calculates the information gain of splitting the rows of these
+     * SplitStatistics into the cells of a contingency table.
+     * @param table A contingency table of the rows of these SplitStatistics.
+     * @return The information gain of the split.
+     */
+    public double infoGain(@NotNull double[][] table) {
+        //The information gain of splitting
+        double infoGain = this.entropy;
+        for (double[] cell : table) {
+            //The weight of the rows in the current cell
+            double size = 0.0;
+            for (double f : cell) {
+                size += f;
+            }//end for
+
+            //Checks if the current cell is empty
+            if (size <= 0.0) {
+                continue;
+            }//end if
+
+            //Subtracts the term of the current cell from infoGain
+            infoGain -= (size / this.weight) *
+                    SplitStatistics.entropy(cell, size);
+        }//end for
+
+        return infoGain;
+    }
+
+    /**
+     * Finds the best cut of the ordered cells of a contingency table, in a
+     * single sweep with running class frequencies. If no cut splits the rows,
+     * the Cut keeps all of them in its low side, with 0 information gain.
+     * @param table A contingency table of the rows of these SplitStatistics,
+     * with ordered cells (e.g. the bins of a quantized Feature).
+     * @return The Cut with the maximum information gain.
+     */
+    public @NotNull Cut bestCut(@NotNull double[][] table) {
+        int classCount = this.classFreq.length;
+        //The frequency of every class id, at or below the current cell
+        double[] low = new double[classCount];
+        //The frequency of every class id, above the current cell
+        double[] high = new double[classCount];
+        //The weight of the rows at or below the current cell
+        double lowSize = 0.0;
+        //The best Cut so far
+        int bestIndex = table.length - 1;
+        double bestGain = 0.0;
+        for (int b = 0; b < table.length - 1; b++) {
+            for (int c = 0; c < classCount; c++) {
+                low[c] += table[b][c];
+                lowSize += table[b][c];
+                high[c] = this.classFreq[c] - low[c];
+            }//end for
+
+            //Checks if the current cut does not split the rows
+            if (lowSize <= 0.0 || lowSize >= this.weight) {
+                continue;
+            }//end if
+
+            double gain = this.gain(low, lowSize, high);
+            if (gain > bestGain) {
+                bestIndex = b;
+                bestGain = gain;
+            }//end if
+        }//end for
+
+        return new Cut(bestIndex, bestGain);
+    }
+
+    /**
+     * Finds the best split bound of a continuous Feature, in a single sweep over
+     * its presorted rows with running class frequencies. Every boundary between
+     * 2 distinct consecutive values is a candidate. If no candidate splits the
+     * rows, the Cut keeps all of them in its low side, with 0 information gain.
+     * @param column The column of the continuous Feature.
+     * @param sorted An array that contains the rows of these SplitStatistics,
+     * in ascending order of their value in column, in the positions [from, to)
+     * of these SplitStatistics.
+     * @return The Cut with the maximum information gain. Its index is the
+     * position in sorted of the last row of the low side, so the split bound is
+     * column[sorted[cut.getIndex()]].
+     */
+    public @NotNull Cut bestCut(@NotNull double[] column,
+            @NotNull int[] sorted) {
+        int classCount = this.classFreq.length;
+        //The frequency of every class id, at or before the current row
+        double[] low = new double[classCount];
+        //The frequency of every class id, after the current row
+        double[] high = this.classFreq.clone();
+        //The weight of the rows at or before the current row
+        double lowSize = 0.0;
+        //The best Cut so far
+        int bestIndex = this.to - 1;
+        double bestGain = 0.0;
+        for (int i = this.from; i < this.to - 1; i++) {
+            double w = this.weight(sorted[i]);
+            low[this.targets[sorted[i]]] += w;
+            high[this.targets[sorted[i]]] -= w;
+            lowSize += w;
+            //Checks if the current row has the same value as the next one, so
+            //they cannot be split
+            if (column[sorted[i]] == column[sorted[i + 1]]) {
+                continue;
+            }//end if
+
+            //Checks if the current cut leaves no weight on a side
+            if (lowSize <= 0.0 || lowSize >= this.weight) {
+                continue;
+            }//end if
+
+            double gain = this.gain(low, lowSize, high);
+            if (gain > bestGain) {
+                bestIndex = i;
+                bestGain = gain;
+            }//end if
+        }//end for
+
+        return new Cut(bestIndex, bestGain);
+    }
+
+    /**
+     * Calculates the information gain of a binary split of the rows of these
+     * SplitStatistics.
+     * @param low The (weighted) frequency of every class id, in the low side.
+     * @param lowSize The weight of the low side.
+     * @param high The (weighted) frequency of every class id, in the high
+     * side.
+     * @return The information gain of the split.
+     */
+    private double gain(@NotNull double[] low, double lowSize,
+            @NotNull double[] high) {
+        double highSize = this.weight - lowSize;
+        return this.entropy - (lowSize / this.weight) *
+                SplitStatistics.entropy(low, lowSize) - (highSize /
+                this.weight) * SplitStatistics.entropy(high, highSize);
+    }
+
+}//end class SplitStatistics
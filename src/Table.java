@@ -1,20 +1,66 @@
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * Represents a list of Record's' that all have a non-null target value.
- * @param <T> The type of the output variable (class/category) of the Record's'.
+ * Represents a subset of the rows of a Dataset, that all have a non-null target
+ * value. A Table does not own its rows. It refers to a range of an array of row
+ * indices, that is shared by all the Table's' of a tree and is partitioned in
+ * place, quicksort-style, when a Table is split.
+ * @param <T> The type of the output variable (class/category) of the rows.
  */
 public class Table<T> {
 
     /**
-     * A List with all the records of this Table.
+     * The Dataset the rows of this Table belong to.
      */
-    private List<Record<T>> records;
+    private Dataset<T> dataset;
+
+    /**
+     * The sample weight of every row of the Dataset, indexed by row, shared by
+     * all the Table's' of a tree. Contains null if every row has a weight of 1.
+     */
+    private double[] weights;
+
+    /**
+     * An array, shared by all the Table's' of a tree, that contains the indices
+     * of the rows of this Table in the positions [from, to).
+     */
+    private int[] rows;
+
+    /**
+     * Arrays, shared by all the Table's' of a tree, that contain the indices of
+     * the rows of this Table in the positions [from, to), sorted by the value
+     * of every continuous Feature, indexed by its slot. Contains null at the
+     * slots of the discrete and the quantized Feature's'. They are partitioned
+     * in order, so they are never sorted again.
+     */
+    private int[][] sorted;
+
+    /**
+     * A buffer, shared by all the Table's' of a tree, with the size of the
+     * Dataset. It is used in the positions [from, to) to partition the rows of
+     * this Table.
+     */
+    private int[] buffer;
+
+    /**
+     * An array, shared by all the Table's' of a tree, with the size of the
+     * Dataset. It is used at the indices of the rows of this Table, to mark the
+     * child Table each row goes to, on a split.
+     */
+    private int[] marks;
+
+    /**
+     * The position in the shared arrays, of the 1st row of this Table.
+     */
+    private int from;
+
+    /**
+     * The position in the shared arrays, after the last row of this Table.
+     */
+    private int to;
 
     /**
      * A Map with keys the title of a Feature and values a Set with the
@@ -24,30 +70,34 @@ public class Table<T> {
     private Map<String, Set<SemiRange<?>>> ranges;
 
     /**
-     * Calculates the entropy of the target variable of a Stream of Records.
-     * @return The entropy of the target variable of a Stream of Records.
-     */
-    private static <T> double entropy(@NotNull Stream<Record<T>> records) {
-        //The entropy of this Table, for the target values
-        double entropy = 0.0;
-        //A Map with all the unique values of the target variable of the
-        //Record's' of records Stream as its keys and their frequency as its
-        //values
-        Map<?, Long> valFreq = records.map(Record::getTarget)
-                                      .collect(Collectors.groupingBy(
-                                              Function.identity(),
-                                              Collectors.counting()));
-
-        //Calculates the entropy
-        for (Map.Entry<?, Long> e : valFreq.entrySet()) {
-            //Calculates the relative frequency of the current value
-            double relFreq = (double) e.getValue() / valFreq.size();
-            //Subtracts the term of the current value from the entropy
-            entropy -= relFreq * (Math.log(relFreq) / Math.log(2.0));
-        }//end for
+     * The bound of the SemiRange's' of every continuous Feature, indexed by its
+     * slot. Contains NaN at the slots of the discrete Feature's'.
+     */
+    private double[] bounds;
 
-        return entropy;
-    }
+    /**
+     * The information gain of the best split of every continuous Feature,
+     * found from its presorted rows or its histogram, indexed by its slot.
+     * Contains NaN at the slots of the discrete Feature's'.
+     */
+    private double[] gains;
+
+    /**
+     * The SplitStatistics of the rows of this Table, with their class
+     * frequencies and entropy, calculated once.
+     */
+    private SplitStatistics stats;
+
+    /**
+     * The slot of the optimal Feature to split this Table, or -1 if it is not
+     * found yet.
+     */
+    private int optimalSlot = -1;
+
+    /**
+     * The information gain of the optimal Feature to split this Table.
+     */
+    private double optimalGain;
 
     /**
      * Creates a Table, given its Record's'.
@@ -61,96 +111,241 @@ public class Table<T> {
      * Collection with a null target value.
      */
     public Table(@NotNull Collection<Record<T>> records) {
-        //Validates that there is at least 1 element in records Collection
-        if (records.isEmpty()) {
-            throw new IllegalArgumentException("Argument Collection records " +
-                    "must contain at least 1 element.");
-        }//end if
+        this(new Dataset<>(records));
+    }
 
-        //Validates that all the Record's' in records Collection have non-null
-        //target value
-        for (Record<T> r : records) {
-            //Checks if Record r has no target value
-            if (r.getTarget() == null) {
-                throw new IllegalArgumentException("All the Record's' in " +
-                        "Collection records must contain a non-null target " +
-                        "value.");
-            }//end if
-        }//end for
+    /**
+     * Creates a Table, with all the rows of a given Dataset.
+     * @param dataset The Dataset with the rows of this Table.
+     */
+    public Table(@NotNull Dataset<T> dataset) {
+        this(dataset, null);
+    }
+
+    /**
+     * Creates a Table, with all the rows of a given Dataset and their sample
+     * weights. The class frequencies, the split criterion and the statistics
+     * of every split Table are sums of the weights of their rows. The weights
+     * are not copied, so a boosting round can reweight the rows in place and
+     * build a new Table on the same Dataset.
+     * @param dataset The Dataset with the rows of this Table.
+     * @param weights The sample weight of every row of dataset, indexed by
+     * row, or null if every row has a weight of 1.
+     * @throws IllegalArgumentException If weights.length != dataset.size(),
+     * or a weight is negative or not finite.
+     */
+    public Table(@NotNull Dataset<T> dataset, @Nullable double[] weights) {
+        this(dataset, Table.validate(dataset, weights),
+                Table.allRows(dataset.size()), Table.presorted(dataset),
+                new int[dataset.size()], new int[dataset.size()], 0,
+                dataset.size());
+    }
 
+    /**
+     * Creates a Table, given its Dataset and the range of the shared arrays
+     * that contains its rows.
+     * @param dataset The Dataset the rows of this Table belong to.
+     * @param weights The sample weight of every row of the Dataset, or null if
+     * every row has a weight of 1.
+     * @param rows An array that contains the indices of the rows of this Table,
+     * in the positions [from, to).
+     * @param sorted Arrays that contain the indices of the rows of this Table in
+     * the positions [from, to), sorted by the value of every continuous
+     * Feature, indexed by its slot.
+     * @param buffer A buffer with the size of the Dataset.
+     * @param marks An array with the size of the Dataset.
+     * @param from The position in the shared arrays, of the 1st row of this
+     * Table.
+     * @param to The position in the shared arrays, after the last row of this
+     * Table. It must be > from.
+     */
+    private Table(@NotNull Dataset<T> dataset, @Nullable double[] weights,
+            @NotNull int[] rows, @NotNull int[][] sorted,
+            @NotNull int[] buffer, @NotNull int[] marks, int from, int to) {
         //A Map with keys the title of a Feature and values a Set with the
         //SemiRange's' of that Feature column.
         Map<String, Set<SemiRange<?>>> ranges = new HashMap<>();
-        //Gets a Record from Records Collection
-        Record<T> templateRecord = records.stream()
-                                          .findAny()
-                                          .get();
-        //A Map with the Feature's' of the Record's' as values, and their titles
-        //as keys
-        Map<String, Feature<?>> features = templateRecord.getFeatures();
-        //Loops through all the Feature's' of the Records, to find the ones with
+        //The SplitStatistics of the given rows
+        SplitStatistics stats = new SplitStatistics(dataset, weights, rows,
+                from, to);
+        //The bound of the SemiRange's' of every continuous Feature
+        double[] bounds = new double[dataset.featureCount()];
+        Arrays.fill(bounds, Double.NaN);
+        //The information gain of the best split of every continuous Feature
+        double[] gains = new double[dataset.featureCount()];
+        Arrays.fill(gains, Double.NaN);
+        //Loops through all the Feature's' of the Dataset, to find the ones with
         //continuous data type
-        for (Map.Entry<String, Feature<?>> e : features.entrySet()) {
+        for (int f = 0; f < dataset.featureCount(); f++) {
             //Checks if the current Feature doesn't have continuous data type
-            if (!e.getValue().getType().equals(Feature.Type.CONTINUOUS)) {
+            if (dataset.type(f) != Feature.Type.CONTINUOUS) {
                 continue;
             }//end if
 
-            //A List with the data of the current Feature, from all the
-            //Record's'
-            List<Comparable<?>> data = records.parallelStream()
-                                              .map(r -> r.getFeatures()
-                                                         .get(e.getKey())
-                                                         .getData())
-                                              .collect(Collectors.toList());
-            //Shuffles data List, to minimize the chance for the O(n * log2(n))
-            //worst case time, for finding its median with a PriorityQueue
-            Collections.shuffle(data);
-            //Creates a PriorityQueue with the first (records.size() + 2) / 2
-            //elements from data List, to find its median in Θ(n) average time.
-            //The generics are dropped here, as it is impossible for the
-            //compiler to tell if the capture<?> in comparing 2 Comparable<?> is
-            //the same
-            PriorityQueue<Comparable> pq = new PriorityQueue<>(data.subList(
-                    0, (data.size() + 2) / 2));
-            //Finds the (records.size() + 2) / 2 largest elements of data List,
-            //in pq PriorityQueue
-            for (Comparable d : data.subList((data.size() + 2) / 2,
-                    data.size())) {
-                //Checks if d is larger than the smallest element in pq
-                if (pq.element().compareTo(d) < 0) {
-                    //Removes the head (smallest element) of pq (min heap)
-                    pq.remove();
-                    //Adds d in pq
-                    pq.add(d);
-                }//end if
-            }//end for
+            //Checks if the current Feature is quantized
+            if (dataset.isBinned(f)) {
+                //The best cut of the histogram of the current Feature
+                SplitStatistics.Cut cut = stats.bestCut(stats.contingency(
+                        dataset.bins(f), dataset.binCount(f)));
+                bounds[f] = dataset.binBound(f, cut.getIndex());
+                gains[f] = cut.getGain();
+            } else {
+                //The best cut of the presorted rows of the current Feature
+                SplitStatistics.Cut cut = stats.bestCut(dataset.continuous(f),
+                        sorted[f]);
+                bounds[f] = dataset.continuous(f)[sorted[f][cut.getIndex()]];
+                gains[f] = cut.getGain();
+            }//end if
 
-            //Gets the median of data List
-            Comparable<?> median = pq.element();
             //Partitions the continuous values of the current Feature into 2
-            //SemiRange's'. The generics at instantiation are dropped, as the
-            //compiler cannot infer them, because of the capture<?>
-            SemiRange<?> lowRange = new SemiRange(median, false,
-                    true);
-            SemiRange<?> highRange = new SemiRange(median, true,
-                    false);
+            //SemiRange's'
+            SemiRange<?> lowRange = new SemiRange<>(bounds[f], false, true);
+            SemiRange<?> highRange = new SemiRange<>(bounds[f], true, false);
             //Puts them in ranges Map, keyed by the title of the current Feature
-            ranges.put(e.getKey(), new HashSet(Arrays.asList(lowRange,
+            ranges.put(dataset.title(f), new HashSet<>(Arrays.asList(lowRange,
                     highRange)));
         }//end for
 
-        this.records = new ArrayList<>(records);
+        this.dataset = dataset;
+        this.weights = weights;
+        this.rows = rows;
+        this.sorted = sorted;
+        this.buffer = buffer;
+        this.marks = marks;
+        this.from = from;
+        this.to = to;
         this.ranges = ranges;
+        this.bounds = bounds;
+        this.gains = gains;
+        this.stats = stats;
     }
 
     /**
-     * Gets the Record's' of this Table.
-     * @return An unmodifiable List with the Record's' of this Table.
+     * Validates the sample weights of the rows of a Dataset.
+     * @param dataset A Dataset.
+     * @param weights The sample weight of every row of dataset, or null.
+     * @return The given weights.
+     * @throws IllegalArgumentException If weights.length != dataset.size(),
+     * or a weight is negative or not finite.
      */
-    public @NotNull
-    List<Record<T>> getRecords() {
-        return Collections.unmodifiableList(this.records);
+    private static @Nullable double[] validate(@NotNull Dataset<?> dataset,
+            @Nullable double[] weights) {
+        //Checks if every row has a weight of 1
+        if (weights == null) {
+            return null;
+        }//end if
+
+        //Validates that there is a weight for every row
+        if (weights.length != dataset.size()) {
+            throw new IllegalArgumentException("Argument weights must have a " +
+                    "length of dataset.size().");
+        }//end if
+
+        for (double w : weights) {
+            //Validates that the current weight is finite and >= 0
+            if (!(w >= 0.0) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Argument weights must " +
+                        "contain finite values >= 0.");
+            }//end if
+        }//end for
+
+        return weights;
+    }
+
+    /**
+     * Copies the presorted row indices of every continuous Feature of a
+     * Dataset, to be partitioned in place by the Table's' of a tree.
+     * @param dataset A Dataset.
+     * @return The row indices of every continuous Feature of dataset, sorted by
+     * its value, indexed by its slot.
+     */
+    private static @NotNull int[][] presorted(@NotNull Dataset<?> dataset) {
+        int[][] sorted = new int[dataset.featureCount()][];
+        for (int f = 0; f < sorted.length; f++) {
+            //Checks if the current Feature has presorted rows
+            if (dataset.type(f) == Feature.Type.CONTINUOUS &&
+                    !dataset.isBinned(f)) {
+                sorted[f] = dataset.sorted(f).clone();
+            }//end if
+        }//end for
+
+        return sorted;
+    }
+
+    /**
+     * Creates an array with all the row indices of a Dataset.
+     * @param size The number of rows of the Dataset.
+     * @return An array with the elements 0, 1, ..., size - 1.
+     */
+    private static @NotNull int[] allRows(int size) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }//end for
+
+        return rows;
+    }
+
+    /**
+     * Gets the value of a continuous Feature of a row. For a quantized Feature
+     * it is the upper bound of the bin of the row, which compares to any bin
+     * bound the same way as the original value.
+     * @param f The slot of a continuous Feature.
+     * @param r The index of the row in the Dataset.
+     * @return The value of the Feature at slot f, of row r.
+     */
+    private double value(int f, int r) {
+        //Checks if the given Feature is quantized
+        if (this.dataset.isBinned(f)) {
+            return this.dataset.binBound(f, this.dataset.bins(f)[r] & 0xFF);
+        }//end if
+
+        return this.dataset.continuous(f)[r];
+    }
+
+    /**
+     * Gets the Dataset the rows of this Table belong to.
+     * @return The Dataset the rows of this Table belong to.
+     */
+    public @NotNull Dataset<T> getDataset() {
+        return this.dataset;
+    }
+
+    /**
+     * Gets the number of rows of this Table.
+     * @return The number of rows of this Table.
+     */
+    public int size() {
+        return this.to - this.from;
+    }
+
+    /**
+     * Gets the (weighted) frequency of every class id, in the rows of this
+     * Table. The returned array is not a copy, and must not be modified.
+     * @return An array indexed by class id, with the frequency of every class
+     * id in the rows of this Table.
+     */
+    public @NotNull double[] classFreq() {
+        return this.stats.classFreq();
+    }
+
+    /**
+     * Gets the total weight of the rows of this Table.
+     * @return The sum of the sample weights of the rows of this Table, or
+     * their number if there are no sample weights.
+     */
+    public double weight() {
+        return this.stats.weight();
+    }
+
+    /**
+     * Gets the bound of the SemiRange's' of a continuous Feature. Values at or
+     * below it fall in the low SemiRange, and the rest in the high one.
+     * @param f The slot of a continuous Feature.
+     * @return The bound of the SemiRange's' of the Feature at slot f.
+     */
+    public double bound(int f) {
+        return this.bounds[f];
     }
 
     /**
@@ -169,51 +364,54 @@ public class Table<T> {
      */
     public @NotNull
     String optimalFeature() {
-        /**
-         * Represents a tuple of 2 objects.
-         */
-        class Tuple<A, R> {
-
-            /**
-             * The 1st object of this Tuple.
-             */
-            private A a;
-
-            /**
-             * The 2nd object of this Tuple.
-             */
-            private R b;
-
-            /**
-             * Creates a Tuple given its 2 objects.
-             * @param a The 1st object of this Tuple.
-             * @param b The 2nd object of this Tuple.
-             */
-            private Tuple(A a, R b) {
-                this.a = a;
-                this.b = b;
-            }
-
-        }//end local class Tuple
-
-        //A template Record to obtain the Feature's' of this Table
-        Record<T> templateRecord = this.records.get(0);
-        return templateRecord.getFeatures()
-                             .entrySet()
-                             .parallelStream()
-                             .map(e -> new Tuple<>(e.getKey(),
-                                     this.infoGain(e.getKey())))
-                             .max(Comparator.comparing(x -> x.b))
-                             .get()
-                             .a;
+        return this.dataset.title(this.optimalSlot());
     }
 
     /**
-     * Gets a Set with all the values of a Feature, in the Record's' of this
-     * Table.
+     * Finds the slot of the optimal Feature to split this Table. It is found
+     * once, and then remembered.
+     * @return The slot of the Feature with the maximum information gain.
+     */
+    public int optimalSlot() {
+        //Checks if the optimal Feature is already found
+        if (this.optimalSlot >= 0) {
+            return this.optimalSlot;
+        }//end if
+
+        //The slot of the optimal Feature
+        int optFtr = 0;
+        //The information gain of the optimal Feature
+        double optInfoGain = Double.NEGATIVE_INFINITY;
+        for (int f = 0; f < this.dataset.featureCount(); f++) {
+            //The information gain of the current Feature
+            double infoGain = this.infoGain(f);
+            //Checks if the current Feature is better than the optimal one
+            if (infoGain > optInfoGain) {
+                optFtr = f;
+                optInfoGain = infoGain;
+            }//end if
+        }//end for
+
+        this.optimalGain = optInfoGain;
+        this.optimalSlot = optFtr;
+        return optFtr;
+    }
+
+    /**
+     * Gets the information gain of splitting this Table on its optimal
+     * Feature.
+     * @return The information gain of the Feature at slot optimalSlot().
+     */
+    public double optimalGain() {
+        this.optimalSlot();
+        return this.optimalGain;
+    }
+
+    /**
+     * Gets a Set with all the values of a Feature, in the rows of this Table.
      * @param ftrTitle The title of the Feature to retrieve its values.
-     * @return A Set with all the values of a given Feature, in the Record's' of
-     * this Table.
+     * @return A Set with all the values of a given Feature, in the rows of this
+     * Table.
      */
     public @NotNull
     Set<?> ftrValues(@NotNull String ftrTitle) {
@@ -224,188 +422,238 @@ public class Table<T> {
             return ranges;
         }//end if
 
-        return this.records
-                   .parallelStream()
-                   .map(r -> r.getFeatures().get(ftrTitle).getData())
-                   .collect(Collectors.toSet());
+        //The slot of the given Feature
+        int f = this.dataset.slot(ftrTitle);
+        //The column of value codes of the given Feature
+        int[] codes = this.dataset.discrete(f);
+        //Indicates which value codes appear in the rows of this Table
+        boolean[] present = new boolean[this.dataset.valueCount(f)];
+        for (int i = this.from; i < this.to; i++) {
+            present[codes[this.rows[i]]] = true;
+        }//end for
+
+        Set<Object> values = new LinkedHashSet<>();
+        for (int c = 0; c < present.length; c++) {
+            if (present[c]) {
+                values.add(this.dataset.value(f, c));
+            }//end if
+        }//end for
+
+        return values;
     }
 
     /**
-     * Splits this Table on a given Feature.
+     * Splits this Table on a given Feature. The shared arrays are partitioned
+     * in place, so that the rows of every split Table occupy a contiguous
+     * subrange of the range of this Table. The rows that would form a Table
+     * with less than minCapacity rows are left out of all the split Tables.
      * @param ftrTitle The title of the Feature to split this Table, based on.
-     * @param minCapacity The minimum number of Record's' a Table must have,
-     * after a split.
+     * @param minCapacity The minimum number of rows a Table must have, after a
+     * split.
      * @return A Map with keys the splitting values of the Table, and values the
      * new split Tables.
      */
     public @NotNull
     Map<Object, Table<T>> split(@NotNull String ftrTitle,
                                 final int minCapacity) {
-        //Checks if this Table does not have the minimum number of Record's'
-        //required for the split to take place
-        if (this.records.size() < minCapacity) {
-            return new LinkedHashMap<>();
-        }//end if
-
-        //Gets the Range's' of the given Feature
-        Set<SemiRange<?>> ranges = this.ranges.get(ftrTitle);
+        //The slot of the given Feature
+        int f = this.dataset.slot(ftrTitle);
+        //The split Tables, indexed by their position
+        List<Table<T>> children = this.split(f, minCapacity);
+        //The SemiRange's' of the given Feature, ordered as (low, high)
+        List<SemiRange<?>> ranges = new ArrayList<>(2);
         //Checks if the given Feature contains continuous values
-        if (ranges != null) {
-            //A Map with keys the splitting values of the Table, and values the
-            //new split Tables.
-            Map<Object, Table<T>> splitTables =
-                    new LinkedHashMap<>(2);
-            //Populates splitTables Map
-            for (SemiRange sr : ranges) {
-                //The split List with the Record's' with values in sr SemiRange
-                List<Record<T>> records = this.records
-                                              .parallelStream()
-                                              .filter(r -> sr.contains(
-                                                    r.getFeatures()
-                                                     .get(ftrTitle)
-                                                     .getData()))
-                                              .collect(Collectors.toList());
-                //Checks if records contains at least the minimum number of
-                //Record's'
-                if (records.size() < minCapacity) {
-                    continue;
-                }//end if
-
-                //Puts in splitTables Map the new Table
-                splitTables.put(sr, new Table<>(records));
+        if (this.ranges.get(ftrTitle) != null) {
+            //The low SemiRange, (-inf, bound], goes 1st
+            SemiRange<Double> low = new SemiRange<>(this.bounds[f], false,
+                    true);
+            for (SemiRange<?> sr : this.ranges.get(ftrTitle)) {
+                ranges.add(low.equals(sr) ? 0 : ranges.size(), sr);
             }//end for
-
-            return splitTables;
         }//end if
 
         //A Map with keys the splitting values of the Table, and values the
         //new split Tables.
         Map<Object, Table<T>> splitTables = new LinkedHashMap<>();
-        //Populates splitTables Map
-        for (Object v : this.ftrValues(ftrTitle)) {
-            //The split List with the Record's' with values v
-            List<Record<T>> records = this.records
-                                          .parallelStream()
-                                          .filter(r -> v.equals(
-                                                  r.getFeatures()
-                                                   .get(ftrTitle)
-                                                   .getData()))
-                                          .collect(Collectors.toList());
-            //Checks if records contains at least the minimum number of
-            //Record's'
-            if (records.size() < minCapacity) {
+        for (int k = 0; k < children.size(); k++) {
+            //Checks if the current split Table was dropped
+            if (children.get(k) == null) {
                 continue;
             }//end if
 
-            //Puts in splitTables Map the new Table
-            splitTables.put(v, new Table<>(records));
+            splitTables.put(ranges.isEmpty() ? this.dataset.value(f, k) :
+                    ranges.get(k), children.get(k));
         }//end for
 
         return splitTables;
     }
 
     /**
-     * Calculates the frequency of a given value of a Feature, in the Record's'
-     * of this Table.
-     * @param ftrTitle The title of the Feature the given value belongs to.
-     * @param value A value of the given Feature.
-     * @return The frequency of a given value of a Feature, in the Record's' of
-     * this Table. If there are no Record's' with the given value, or the value
-     * does not belong in the value set of the given Feature, returns 0.
+     * Splits this Table on the Feature of a given slot, with no lookup by title
+     * and no hashing of values. A continuous Feature splits into the positions
+     * [low, high], and a discrete one into a position per value code. The
+     * shared arrays are partitioned in place, so that the rows of every split
+     * Table occupy a contiguous subrange of the range of this Table. The rows
+     * that would form a Table with less than minCapacity rows are left out of
+     * all the split Tables.
+     * @param f The slot of the Feature to split this Table, based on.
+     * @param minCapacity The minimum number of rows a Table must have, after a
+     * split.
+     * @return A List with the split Tables, indexed by their position, with
+     * null at the positions with less than minCapacity rows. It is empty if
+     * this Table has less than minCapacity rows.
      */
-    private long ftrValueFreq(@NotNull String ftrTitle,
-            @NotNull Object value) {
-        //Gets the Range's' of the given Feature
-        Set<SemiRange<?>> ranges = this.ranges.get(ftrTitle);
-        //Checks if the given Feature contains continuous values
-        if (ranges != null) {
-            //A variable to store a reference to the SemiRange containing value
-            SemiRange range = null;
-            //Iterates over ranges to find the one that contains value
-            for (SemiRange r : ranges) {
-                //Checks if r contains value
-                if (r.contains((Comparable) value)) {
-                    //Store a reference to r
-                    range = r;
-                    //No need to continue iteration
-                    break;
-                }//end if
-            }//end for
-
-            return range.isBoundInc() ? (this.records.size() + 2) / 2 :
-                    this.records.size() - (this.records.size() + 2) / 2;
+    public @NotNull
+    List<Table<T>> split(int f, final int minCapacity) {
+        //Checks if this Table does not have the minimum number of rows
+        //required for the split to take place
+        if (this.size() < minCapacity) {
+            return new ArrayList<>();
         }//end if
 
-        return this.records
-                   .parallelStream()
-                   .map(r -> r.getFeatures().get(ftrTitle).getData())
-                   .filter(e -> e.equals(value))
-                   .count();
+        //The number of rows of every split Table, indexed by its position
+        int[] counts = this.counts(f);
+
+        //Drops the split Tables with less than minCapacity rows, by marking
+        //their rows to go after all the others
+        int[] remap = new int[counts.length];
+        int kept = 0;
+        for (int k = 0; k < counts.length; k++) {
+            remap[k] = counts[k] >= minCapacity ? kept++ : -1;
+        }//end for
+
+        //The position of the 1st row of every split Table, and after them the
+        //position of the dropped rows
+        int[] starts = new int[kept + 1];
+        int start = this.from;
+        for (int k = 0; k < counts.length; k++) {
+            if (remap[k] >= 0) {
+                starts[remap[k]] = start;
+                start += counts[k];
+            }//end if
+        }//end for
+
+        starts[kept] = start;
+        for (int i = this.from; i < this.to; i++) {
+            int r = this.rows[i];
+            this.marks[r] = remap[this.marks[r]] >= 0 ? remap[this.marks[r]] :
+                    kept;
+        }//end for
+
+        //Partitions the rows and the presorted rows of every Feature in place
+        this.partition(this.rows, starts);
+        for (int[] s : this.sorted) {
+            if (s != null) {
+                this.partition(s, starts);
+            }//end if
+        }//end for
+
+        //The split Tables, indexed by their position
+        List<Table<T>> splitTables = new ArrayList<>(counts.length);
+        for (int k = 0; k < counts.length; k++) {
+            splitTables.add(remap[k] < 0 ? null : new Table<>(this.dataset,
+                    this.weights, this.rows, this.sorted, this.buffer,
+                    this.marks, starts[remap[k]], starts[remap[k]] +
+                    counts[k]));
+        }//end for
+
+        return splitTables;
     }
 
     /**
-     * Calculates the information gain of splitting this Table by the given
-     * Feature.
-     * @param ftrTitle The title of the Feature to calculate its information
-     * gain on split.
-     * @return The information gain of splitting this Table by the given
-     * Feature.
+     * Counts the split Tables that split(f, minCapacity) would keep, with no
+     * partitioning of the shared arrays, e.g. to check a budget of leaves
+     * before the split.
+     * @param f The slot of the Feature to split this Table, based on.
+     * @param minCapacity The minimum number of rows a Table must have, after a
+     * split.
+     * @return The number of split Tables with at least minCapacity rows, or 0
+     * if this Table has less than minCapacity rows.
      */
-    private double infoGain(@NotNull String ftrTitle) {
-        //The entropy of this Table, for the target value of its Records.
-        double entropy = Table.entropy(this.records.parallelStream());
+    public int splitCount(int f, final int minCapacity) {
+        //Checks if this Table does not have the minimum number of rows
+        //required for the split to take place
+        if (this.size() < minCapacity) {
+            return 0;
+        }//end if
 
-        //Gets the Range's' of the given Feature
-        Set<SemiRange<?>> ranges = this.ranges.get(ftrTitle);
+        int kept = 0;
+        for (int count : this.counts(f)) {
+            kept += count >= minCapacity ? 1 : 0;
+        }//end for
+
+        return kept;
+    }
+
+    /**
+     * Counts the rows of every split Table of this Table, on the Feature of a
+     * given slot, and marks every row with the position of its split Table.
+     * @param f The slot of the Feature to split this Table, based on.
+     * @return The number of rows of every split Table, indexed by its
+     * position: [low, high] for a continuous Feature, and a position per value
+     * code for a discrete one.
+     */
+    private @NotNull int[] counts(int f) {
+        int[] counts;
         //Checks if the given Feature contains continuous values
-        if (ranges != null) {
-            //The information gain of splitting
-            double infoGain = entropy;
-            //Calculates the information gain
-            for (SemiRange sr : ranges) {
-                //Calculates the relative frequency of the items that are
-                //contained in SemiRange sr
-                double relFreq = sr.isBoundInc() ? (this.records.size() + 2) /
-                        2.0 : this.records.size() - (this.records.size() + 2) /
-                        2.0;
-                //Subtracts the term of SemiRange sr from infoGain
-                infoGain -= relFreq * Table.entropy(
-                        this.records
-                            .parallelStream()
-                            .filter(r -> sr.contains(r.getFeatures()
-                                                      .get(ftrTitle)
-                                                      .getData())));
+        if (this.dataset.type(f) == Feature.Type.CONTINUOUS) {
+            //Marks the rows of the low and the high SemiRange with 0 and 1
+            counts = new int[2];
+            for (int i = this.from; i < this.to; i++) {
+                int r = this.rows[i];
+                this.marks[r] = this.value(f, r) <= this.bounds[f] ? 0 : 1;
+                counts[this.marks[r]]++;
+            }//end for
+        } else {
+            //Marks the rows with their value code
+            int[] codes = this.dataset.discrete(f);
+            counts = new int[this.dataset.valueCount(f)];
+            for (int i = this.from; i < this.to; i++) {
+                int r = this.rows[i];
+                this.marks[r] = codes[r];
+                counts[codes[r]]++;
             }//end for
-
-            return infoGain;
         }//end if
 
-        //A Set with all the values of the given Feature, in the Record's' of
-        //this Table.
-        Set<?> ftrValues = this.ftrValues(ftrTitle);
-        //A Map with the the entropy of this Table, on its target variable, if
-        //split by each value in ftrValues
-        Map<Object, Double> entropies = new LinkedHashMap<>(ftrValues.size());
-        //Populates entropies Map
-        for (Object v : ftrValues) {
-            entropies.put(v, Table.entropy(this.records
-                                               .parallelStream()
-                                               .filter(r -> r.getFeatures()
-                                                             .get(ftrTitle)
-                                                             .getData()
-                                                             .equals(v))));
-        }//end for
+        return counts;
+    }
 
-        //The information gain of splitting
-        double infoGain = entropy;
-        //Calculates the information gain
-        for (Map.Entry<Object, Double> e : entropies.entrySet()) {
-            //Subtracts the term of e.getKey() from infoGain
-            infoGain -= ((double) this.ftrValueFreq(ftrTitle, e.getKey()) /
-                    this.records.size()) * e.getValue();
+    /**
+     * Partitions the range of this Table in a shared array, stably, by the marks
+     * of its rows.
+     * @param array A shared array, with the rows of this Table in the positions
+     * [from, to).
+     * @param starts The position of the 1st row of every mark.
+     */
+    private void partition(@NotNull int[] array, @NotNull int[] starts) {
+        //The next position of every mark
+        int[] next = starts.clone();
+        for (int i = this.from; i < this.to; i++) {
+            this.buffer[next[this.marks[array[i]]]++] = array[i];
         }//end for
 
-        return infoGain;
+        System.arraycopy(this.buffer, this.from, array, this.from, this.to -
+                this.from);
+    }
+
+    /**
+     * Calculates the information gain of splitting this Table by the given
+     * Feature.
+     * @param f The slot of the Feature to calculate its information gain on
+     * split.
+     * @return The information gain of splitting this Table by the given
+     * Feature.
+     */
+    private double infoGain(int f) {
+        //Checks if the given Feature is discrete
+        if (this.dataset.type(f) == Feature.Type.DISCRETE) {
+            return this.stats.infoGain(this.stats.contingency(
+                    this.dataset.discrete(f), this.dataset.valueCount(f)));
+        }//end if
+
+        //The information gain of the best split of a continuous Feature is
+        //already known, from the sweep in the constructor
+        return this.gains[f];
     }
 
-}//end class Table
\ No newline at end of file
+}//end class Table
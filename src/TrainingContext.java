@@ -0,0 +1,156 @@
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents the parallelism budget of a training run. All the parallel work
+ * of the model code is executed in the ForkJoinPool of a TrainingContext, and
+ * never in the JVM-wide common pool, unless it is explicitly given.
+ */
+public class TrainingContext implements AutoCloseable {
+
+    /**
+     * The default minimum number of rows of a unit of work (e.g. the subtree of
+     * a Node), for it to be executed as a separate task.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+
+    /**
+     * The ForkJoinPool of this TrainingContext. Contains null if this
+     * TrainingContext is sequential.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Indicates if the ForkJoinPool of this TrainingContext was created by it,
+     * and must be shut down when it is closed.
+     */
+    private final boolean isPoolOwned;
+
+    /**
+     * The maximum number of threads that work in parallel, for this
+     * TrainingContext.
+     */
+    private final int maxParallelism;
+
+    /**
+     * The minimum number of rows of a unit of work, for it to be executed as a
+     * separate task. Smaller units of work are executed sequentially, in the
+     * task that found them.
+     */
+    private final int sequentialThreshold;
+
+    /**
+     * Creates a TrainingContext that executes all the work sequentially, in the
+     * calling thread.
+     * @return A sequential TrainingContext.
+     */
+    public static @NotNull TrainingContext sequential() {
+        return new TrainingContext(1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a TrainingContext with its own ForkJoinPool, given its maximum
+     * parallelism. The ForkJoinPool is shut down when this TrainingContext is
+     * closed.
+     * @param maxParallelism The maximum number of threads that work in
+     * parallel. A value of 1 creates a sequential TrainingContext, with no
+     * ForkJoinPool.
+     * @param sequentialThreshold The minimum number of rows of a unit of work,
+     * for it to be executed as a separate task.
+     * @throws IllegalArgumentException If maxParallelism <= 0.
+     * @throws IllegalArgumentException If sequentialThreshold <= 0.
+     */
+    public TrainingContext(int maxParallelism, int sequentialThreshold) {
+        //Validates that maxParallelism > 0
+        if (maxParallelism <= 0) {
+            throw new IllegalArgumentException("Argument maxParallelism must " +
+                    "be > 0.");
+        }//end if
+
+        //Validates that sequentialThreshold > 0
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("Argument sequentialThreshold " +
+                    "must be > 0.");
+        }//end if
+
+        this.pool = maxParallelism == 1 ? null : new ForkJoinPool(
+                maxParallelism);
+        this.isPoolOwned = true;
+        this.maxParallelism = maxParallelism;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Creates a TrainingContext that executes its work in a given
+     * ForkJoinPool. The maximum parallelism is the parallelism of the given
+     * ForkJoinPool, which is not shut down when this TrainingContext is closed.
+     * @param pool The ForkJoinPool to execute the work in.
+     * @param sequentialThreshold The minimum number of rows of a unit of work,
+     * for it to be executed as a separate task.
+     * @throws IllegalArgumentException If sequentialThreshold <= 0.
+     */
+    public TrainingContext(@NotNull ForkJoinPool pool,
+            int sequentialThreshold) {
+        //Validates that sequentialThreshold > 0
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("Argument sequentialThreshold " +
+                    "must be > 0.");
+        }//end if
+
+        this.pool = pool;
+        this.isPoolOwned = false;
+        this.maxParallelism = pool.getParallelism();
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Gets the ForkJoinPool of this TrainingContext.
+     * @return The ForkJoinPool of this TrainingContext, or null if it is
+     * sequential.
+     */
+    public @Nullable ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * Indicates if this TrainingContext executes all the work sequentially.
+     * @return True if this TrainingContext has no ForkJoinPool, otherwise
+     * false.
+     */
+    public boolean isSequential() {
+        return this.pool == null;
+    }
+
+    /**
+     * Gets the maximum number of threads that work in parallel, for this
+     * TrainingContext.
+     * @return The maximum parallelism of this TrainingContext.
+     */
+    public int getMaxParallelism() {
+        return this.maxParallelism;
+    }
+
+    /**
+     * Gets the minimum number of rows of a unit of work, for it to be executed
+     * as a separate task.
+     * @return The sequential fallback threshold of this TrainingContext.
+     */
+    public int getSequentialThreshold() {
+        return this.sequentialThreshold;
+    }
+
+    /**
+     * Shuts down the ForkJoinPool of this TrainingContext, if it was created
+     * by it.
+     */
+    @Override
+    public void close() {
+        //Checks if there is an owned ForkJoinPool to shut down
+        if (this.pool != null && this.isPoolOwned) {
+            this.pool.shutdown();
+        }//end if
+    }
+
+}//end class TrainingContext
@@ -0,0 +1,86 @@
+/**
+ * Represents the growth limits of a DecisionTree that is grown best-first. The
+ * candidate leaves are kept in a priority queue, keyed by the information gain
+ * of their best split, and the best one is always expanded next, until one of
+ * the limits of a TreeBudget is reached.
+ */
+public class TreeBudget {
+
+    /**
+     * The maximum number of leaves of a tree.
+     */
+    private final int maxLeaves;
+
+    /**
+     * The maximum depth of a tree. The root Node has a depth of 0.
+     */
+    private final int maxDepth;
+
+    /**
+     * The minimum information gain of a split, for a leaf to be expanded.
+     */
+    private final double minGain;
+
+    /**
+     * Creates a TreeBudget, given its limits.
+     * @param maxLeaves The maximum number of leaves of a tree. A leaf is
+     * expanded only if the tree still has at most maxLeaves leaves after its
+     * split, so a multiway split on a discrete Feature that would exceed it is
+     * skipped.
+     * @param maxDepth The maximum depth of a tree, with the root Node at a
+     * depth of 0.
+     * @param minGain The minimum information gain of a split, for a leaf to be
+     * expanded.
+     * @throws IllegalArgumentException If maxLeaves <= 0.
+     * @throws IllegalArgumentException If maxDepth < 0.
+     * @throws IllegalArgumentException If minGain < 0 or it is NaN.
+     */
+    public TreeBudget(int maxLeaves, int maxDepth, double minGain) {
+        //Validates that maxLeaves > 0
+        if (maxLeaves <= 0) {
+            throw new IllegalArgumentException("Argument maxLeaves must be " +
+                    "> 0.");
+        }//end if
+
+        //Validates that maxDepth >= 0
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Argument maxDepth must be " +
+                    ">= 0.");
+        }//end if
+
+        //Validates that minGain >= 0
+        if (!(minGain >= 0.0)) {
+            throw new IllegalArgumentException("Argument minGain must be " +
+                    ">= 0.");
+        }//end if
+
+        this.maxLeaves = maxLeaves;
+        this.maxDepth = maxDepth;
+        this.minGain = minGain;
+    }
+
+    /**
+     * Gets the maximum number of leaves of a tree.
+     * @return The maximum number of leaves of a tree.
+     */
+    public int getMaxLeaves() {
+        return this.maxLeaves;
+    }
+
+    /**
+     * Gets the maximum depth of a tree.
+     * @return The maximum depth of a tree, with the root Node at a depth of 0.
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Gets the minimum information gain of a split, for a leaf to be expanded.
+     * @return The minimum information gain of a split.
+     */
+    public double getMinGain() {
+        return this.minGain;
+    }
+
+}//end class TreeBudget
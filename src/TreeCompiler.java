@@ -0,0 +1,421 @@
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compiles a trained DecisionTree into a specialized class at runtime. The
+ * tree is emitted as Java source of straight-line nested if/switch statements
+ * on the primitive slots of a row, with the thresholds and class ids as
+ * constants, compiled in-process with javax.tools, and loaded in its own
+ * ClassLoader. The JIT can then inline and branch-predict the whole model,
+ * with no loads from the arrays of the CompactTree. The DecisionTree's' of an
+ * AdaBoostM1 model are compiled one by one. Only DecisionTree's' are
+ * specialized: the other weak Classifier's' of an AdaBoostM1 model, such as
+ * DecisionStump's', are not compiled.
+ */
+public class TreeCompiler {
+
+    /**
+     * The maximum number of Node's' emitted in a single generated method. The
+     * rest of the subtrees are emitted in separate methods, so that every
+     * method stays well below the size limit of the JIT for compilation.
+     */
+    private static final int METHOD_BUDGET = 128;
+
+    /**
+     * A counter for the names of the generated classes.
+     */
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    /**
+     * Represents a compiled DecisionTree, that classifies rows encoded by its
+     * CompactTree with the generated code.
+     * @param <T> The type of the output variable (class/category) of the
+     * Record's' of the compiled DecisionTree.
+     */
+    private static class CompiledTree<T> implements IndexedClassifier<T> {
+
+        /**
+         * The CompactTree the code was generated from, for the encoding of the
+         * rows and the decoding of the class ids.
+         */
+        private final CompactTree<T> tree;
+
+        /**
+         * An instance of the generated class.
+         */
+        private final ToIntFunction<double[]> code;
+
+        /**
+         * Creates a CompiledTree, given its CompactTree and generated code.
+         * @param tree The CompactTree the code was generated from.
+         * @param code An instance of the generated class.
+         */
+        private CompiledTree(@NotNull CompactTree<T> tree,
+                @NotNull ToIntFunction<double[]> code) {
+            this.tree = tree;
+            this.code = code;
+        }
+
+        @Override
+        public @NotNull T predict(@NotNull Record<T> record) {
+            return this.tree.label(this.predictClass(record));
+        }
+
+        @Override
+        public int predictClass(@NotNull Record<T> record) {
+            return this.code.applyAsInt(this.tree.encode(record));
+        }
+
+        @Override
+        public void predict(@NotNull ColumnBlock block, @NotNull int[] out) {
+            //Validates that out can hold all the rows of block
+            if (out.length < block.size()) {
+                throw new IllegalArgumentException("Argument out must have a " +
+                        "length of at least block.size().");
+            }//end if
+
+            double[][] slots = this.tree.encode(block);
+            double[] row = new double[slots.length];
+            for (int i = 0; i < block.size(); i++) {
+                for (int f = 0; f < slots.length; f++) {
+                    row[f] = slots[f][i];
+                }//end for
+
+                out[i] = this.code.applyAsInt(row);
+            }//end for
+        }
+
+        @Override
+        public @NotNull T label(int id) {
+            return this.tree.label(id);
+        }
+
+    }//end inner class CompiledTree
+
+    /**
+     * Represents the generated source of a class, held in memory.
+     */
+    private static class Source extends SimpleJavaFileObject {
+
+        /**
+         * The source code of the class.
+         */
+        private final String code;
+
+        /**
+         * Creates a Source, given the name and source code of its class.
+         * @param name The binary name of the class.
+         * @param code The source code of the class.
+         */
+        private Source(@NotNull String name, @NotNull String code) {
+            super(URI.create("string:///" + name + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return this.code;
+        }
+
+    }//end inner class Source
+
+    /**
+     * Represents the bytecode of a compiled class, held in memory.
+     */
+    private static class Bytecode extends SimpleJavaFileObject {
+
+        /**
+         * The bytecode of the class.
+         */
+        private final ByteArrayOutputStream bytes =
+                new ByteArrayOutputStream();
+
+        /**
+         * Creates a Bytecode, given the name of its class.
+         * @param name The binary name of the class.
+         */
+        private Bytecode(@NotNull String name) {
+            super(URI.create("bytes:///" + name + Kind.CLASS.extension),
+                    Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return this.bytes;
+        }
+
+    }//end inner class Bytecode
+
+    /**
+     * Represents a ClassLoader of the classes compiled in memory.
+     */
+    private static class Loader extends ClassLoader {
+
+        /**
+         * A Map with keys the binary names of the compiled classes, and values
+         * their Bytecode.
+         */
+        private final Map<String, Bytecode> classes;
+
+        /**
+         * Creates a Loader, given its compiled classes.
+         * @param classes A Map with keys the binary names of the compiled
+         * classes, and values their Bytecode.
+         */
+        private Loader(@NotNull Map<String, Bytecode> classes) {
+            super(TreeCompiler.class.getClassLoader());
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name)
+                throws ClassNotFoundException {
+            Bytecode bytecode = this.classes.get(name);
+            //Checks if the class was not compiled in memory
+            if (bytecode == null) {
+                return super.findClass(name);
+            }//end if
+
+            byte[] bytes = bytecode.bytes.toByteArray();
+            return this.defineClass(name, bytes, 0, bytes.length);
+        }
+
+    }//end inner class Loader
+
+    /**
+     * Compiles a trained DecisionTree into a Classifier, with the same
+     * predictions.
+     * @param decisionTree A trained DecisionTree.
+     * @param <T> The type of the output variable (class/category) of the
+     * Record's' of the DecisionTree.
+     * @return A Classifier that runs the generated code of the DecisionTree.
+     * @throws IllegalStateException If the JVM has no system Java compiler
+     * (e.g. it is a JRE), or the generated source fails to compile.
+     */
+    public static @NotNull <T> IndexedClassifier<T> compile(
+            @NotNull DecisionTree<T> decisionTree) {
+        CompactTree<T> tree = decisionTree.getCompactTree();
+        String name = "CompiledTree$" + TreeCompiler.COUNTER.incrementAndGet();
+        String source = TreeCompiler.generate(tree, name);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        //Validates that a Java compiler is available
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler is " +
+                    "available to compile the DecisionTree.");
+        }//end if
+
+        Map<String, Bytecode> classes = new HashMap<>();
+        DiagnosticCollector<JavaFileObject> diagnostics =
+                new DiagnosticCollector<>();
+        JavaFileManager fileManager = new ForwardingJavaFileManager<
+                JavaFileManager>(compiler.getStandardFileManager(diagnostics,
+                null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location,
+                    String className, JavaFileObject.Kind kind,
+                    FileObject sibling) {
+                Bytecode bytecode = new Bytecode(className);
+                classes.put(className, bytecode);
+                return bytecode;
+            }
+        };
+        boolean isCompiled = compiler.getTask(null, fileManager, diagnostics,
+                null, null, Collections.singletonList(new Source(name,
+                source))).call();
+        //Validates that the generated source was compiled
+        if (!isCompiled) {
+            throw new IllegalStateException("The generated source of the " +
+                    "DecisionTree failed to compile: " +
+                    diagnostics.getDiagnostics());
+        }//end if
+
+        try {
+            Class<?> type = new Loader(classes).loadClass(name);
+            Object instance = type.getDeclaredConstructor().newInstance();
+            //The generated class implements ToIntFunction<double[]>, as
+            //emitted by generate, so only the erased type is left to check
+            @SuppressWarnings("unchecked")
+            ToIntFunction<double[]> code = (ToIntFunction<double[]>) instance;
+            return new CompiledTree<>(tree, code);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The generated class of the " +
+                    "DecisionTree failed to load.", e);
+        }//end try
+    }
+
+    /**
+     * Compiles the weak DecisionTree's' of a trained AdaBoostM1 model into
+     * Classifier's', with the same predictions. Every DecisionTree is compiled
+     * on its own, with the generated code of compile(DecisionTree), and the
+     * votes of the rounds are still summed by AdaBoostM1. Only the
+     * DecisionTree hypotheses are specialized: the other weak Classifier's'
+     * (e.g. DecisionStump's', which examine a single value) are kept as they
+     * are, so an AdaBoostM1 of DecisionStump's' is returned with the same
+     * Classifier's'.
+     * @param model A trained AdaBoostM1 model.
+     * @param <T> The type of the output variable (class/category) of the
+     * Record's' of the AdaBoostM1 model.
+     * @return An AdaBoostM1 model with the compiled weak Classifier's', the
+     * same betas and the same early-exit mode. It has no training state.
+     * @throws IllegalStateException If the JVM has no system Java compiler
+     * (e.g. it is a JRE), or the generated source fails to compile.
+     */
+    public static @NotNull <T> AdaBoostM1<T> compile(
+            @NotNull AdaBoostM1<T> model) {
+        return model.replaceHypotheses(classifier -> classifier instanceof
+                DecisionTree ? TreeCompiler.compile((DecisionTree<T>)
+                classifier) : classifier);
+    }
+
+    /**
+     * Generates the Java source of a class that classifies the rows of a
+     * CompactTree. Its applyAsInt(double[]) method returns the class id of an
+     * encoded row.
+     * @param tree A CompactTree.
+     * @param name The name of the generated class.
+     * @return The Java source of the generated class.
+     */
+    static @NotNull String generate(@NotNull CompactTree<?> tree,
+            @NotNull String name) {
+        StringBuilder source = new StringBuilder();
+        source.append("public final class ").append(name).append(" implements")
+                .append(" java.util.function.ToIntFunction<double[]> {\n\n")
+                .append("    public int applyAsInt(double[] r) {\n")
+                .append("        return n0(r);\n")
+                .append("    }\n");
+
+        //The Node's' that are the root of a generated method
+        Deque<Integer> methods = new ArrayDeque<>();
+        methods.add(0);
+        while (!methods.isEmpty()) {
+            int node = methods.poll();
+            source.append("\n    private static int n").append(node)
+                    .append("(double[] r) {\n");
+            int[] budget = {TreeCompiler.METHOD_BUDGET};
+            TreeCompiler.emit(tree, node, 2, true, budget, methods, source);
+            source.append("    }\n");
+        }//end while
+
+        return source.append("\n}\n").toString();
+    }
+
+    /**
+     * Emits the statements that return the class id of the rows of a subtree.
+     * If the budget of the current method is exhausted, the subtree is emitted
+     * in a separate method, and a call to it is emitted instead.
+     * @param tree A CompactTree.
+     * @param node The root Node of the subtree.
+     * @param depth The indentation depth of the statements.
+     * @param isMethodRoot Indicates if the Node is the root of the current
+     * method.
+     * @param budget The remaining number of Node's' of the current method.
+     * @param methods A queue of the Node's' to emit as separate methods.
+     * @param source The StringBuilder of the generated source.
+     */
+    private static void emit(@NotNull CompactTree<?> tree, int node, int depth,
+            boolean isMethodRoot, @NotNull int[] budget,
+            @NotNull Deque<Integer> methods, @NotNull StringBuilder source) {
+        String indent = String.join("", Collections.nCopies(depth, "    "));
+        int f = tree.feature(node);
+        //Checks if the Node is a leaf
+        if (f < 0) {
+            source.append(indent).append("return ").append(tree.dominant(node))
+                    .append(";\n");
+            return;
+        }//end if
+
+        //Checks if the subtree must be emitted in a separate method
+        if (!isMethodRoot && budget[0] <= 0) {
+            methods.add(node);
+            source.append(indent).append("return n").append(node)
+                    .append("(r);\n");
+            return;
+        }//end if
+
+        budget[0]--;
+        //Checks if the Node examines a continuous Feature
+        if (!tree.isDiscrete(f)) {
+            source.append(indent).append("if (r[").append(f).append("] <= ")
+                    .append(TreeCompiler.literal(tree.threshold(node)))
+                    .append(") {\n");
+            TreeCompiler.emitChild(tree, node, 0, depth + 1, budget, methods,
+                    source);
+            source.append(indent).append("} else {\n");
+            TreeCompiler.emitChild(tree, node, 1, depth + 1, budget, methods,
+                    source);
+            source.append(indent).append("}\n");
+            return;
+        }//end if
+
+        source.append(indent).append("switch ((int) r[").append(f)
+                .append("]) {\n");
+        for (int b = 0; b < tree.arity(node); b++) {
+            //Checks if the value code has no child, so it is left to default
+            if (tree.child(node, b) < 0) {
+                continue;
+            }//end if
+
+            source.append(indent).append("    case ").append(b).append(":\n");
+            TreeCompiler.emitChild(tree, node, b, depth + 2, budget, methods,
+                    source);
+        }//end for
+
+        source.append(indent).append("    default:\n")
+                .append(indent).append("        return ")
+                .append(tree.dominant(node)).append(";\n")
+                .append(indent).append("}\n");
+    }
+
+    /**
+     * Emits the statements of a child of a Node, or the return of the dominant
+     * class id of the Node, if the child is missing.
+     * @param tree A CompactTree.
+     * @param node The parent Node.
+     * @param branch The position of the child.
+     * @param depth The indentation depth of the statements.
+     * @param budget The remaining number of Node's' of the current method.
+     * @param methods A queue of the Node's' to emit as separate methods.
+     * @param source The StringBuilder of the generated source.
+     */
+    private static void emitChild(@NotNull CompactTree<?> tree, int node,
+            int branch, int depth, @NotNull int[] budget,
+            @NotNull Deque<Integer> methods, @NotNull StringBuilder source) {
+        int child = tree.child(node, branch);
+        //Checks if the child is missing, so the row stops at the parent
+        if (child < 0) {
+            source.append(String.join("", Collections.nCopies(depth, "    ")))
+                    .append("return ").append(tree.dominant(node))
+                    .append(";\n");
+            return;
+        }//end if
+
+        TreeCompiler.emit(tree, child, depth, false, budget, methods, source);
+    }
+
+    /**
+     * Converts a double into a Java literal, with the exact same value.
+     * @param value A double.
+     * @return The Java literal of the given double.
+     */
+    private static @NotNull String literal(double value) {
+        //Checks if the value has no decimal literal
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" :
+                    "Double.NEGATIVE_INFINITY";
+        }//end if
+
+        return Double.toHexString(value);
+    }
+
+}//end class TreeCompiler
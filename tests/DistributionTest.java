@@ -0,0 +1,133 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Contains tests of predictDistribution of DecisionTree. For every Record, the
+ * probabilities of the output values must sum to 1, and the most probable
+ * output value must be the predicted one, with ties broken in favor of the
+ * smallest class id. The DecisionTree's' are trained with and without sample
+ * weights, and under a TreeBudget, and checked on their training Record's'
+ * and on unseen Record's', some with discrete values never seen in training,
+ * that stop at an inner Node.
+ */
+public class DistributionTest {
+
+    /**
+     * The output values of the test Record's'.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test Record's'. The last one
+     * is only used in the unseen Record's'.
+     */
+    private static final String[] COLORS = {"red", "green", "blue", "gray"};
+
+    public static void main(String[] args) {
+        Random random = new Random(41);
+        int records = 0;
+        int mismatches = 0;
+        for (int d = 0; d < 5; d++) {
+            List<Record<String>> train = DistributionTest.createRecords(
+                    random, 100 + random.nextInt(400),
+                    DistributionTest.COLORS.length - 1);
+            List<Record<String>> unseen = DistributionTest.createRecords(
+                    random, 200, DistributionTest.COLORS.length);
+            Dataset<String> dataset = new Dataset<>(train);
+            double[] weights = new double[dataset.size()];
+            for (int r = 0; r < weights.length; r++) {
+                weights[r] = random.nextDouble();
+            }//end for
+
+            List<DecisionTree<String>> trees = Arrays.asList(
+                    new DecisionTree<>(dataset, 1 + random.nextInt(5)),
+                    new DecisionTree<>(dataset, weights, 1 + random.nextInt(5)),
+                    new DecisionTree<>(dataset, weights, 2, new TreeBudget(6,
+                            3, 0.0)));
+            for (DecisionTree<String> tree : trees) {
+                for (List<Record<String>> list : Arrays.asList(train,
+                        unseen)) {
+                    for (Record<String> r : list) {
+                        records++;
+                        mismatches += DistributionTest.isConsistent(tree, r) ?
+                                0 : 1;
+                    }//end for
+                }//end for
+            }//end for
+        }//end for
+
+        System.out.println("records: " + records + ", mismatches: " +
+                mismatches);
+        System.out.println("result: " + (mismatches == 0 ? "good" : "bad"));
+    }
+
+    /**
+     * Checks if the distribution of a Record sums to 1, and its most probable
+     * output value is the predicted one.
+     * @param tree A trained DecisionTree.
+     * @param record A Record to classify.
+     * @return True if the distribution is consistent with the prediction,
+     * otherwise false.
+     */
+    private static boolean isConsistent(@NotNull DecisionTree<String> tree,
+            @NotNull Record<String> record) {
+        Map<String, Double> distribution = tree.predictDistribution(record);
+        double sum = 0.0;
+        //The most probable output value, the 1st one on ties
+        String best = null;
+        for (Map.Entry<String, Double> entry : distribution.entrySet()) {
+            sum += entry.getValue();
+            if (best == null || entry.getValue() > distribution.get(best)) {
+                best = entry.getKey();
+            }//end if
+        }//end for
+
+        return distribution.size() == DistributionTest.TARGETS.length &&
+                Math.abs(sum - 1.0) < 1e-9 && tree.predict(record).equals(
+                best);
+    }
+
+    /**
+     * Creates noisy test Record's', with 2 continuous Feature's' and a
+     * discrete one, whose output value mostly follows all of them.
+     * @param random The source of randomness.
+     * @param size The number of Record's'.
+     * @param colorCount The number of values of the discrete Feature, that the
+     * Record's' take from the start of COLORS.
+     * @return The test Record's'.
+     */
+    private static @NotNull List<Record<String>> createRecords(
+            @NotNull Random random, int size, int colorCount) {
+        Feature.Generator<Integer> genX = new Feature.Generator<>("x",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<Double> genY = new Feature.Generator<>("y",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<String> genColor = new Feature.Generator<>("color",
+                Feature.Type.DISCRETE);
+
+        List<Record<String>> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(100);
+            double y = random.nextGaussian();
+            String color = DistributionTest.COLORS[random.nextInt(colorCount)];
+            int target = x < 30 ? 0 : color.equals("red") ? 1 : y < 0.4 ? 1 :
+                    2;
+            //Replaces the output value of a share of the Record's' with noise
+            if (random.nextDouble() < 0.3) {
+                target = random.nextInt(DistributionTest.TARGETS.length);
+            }//end if
+
+            records.add(new Record<>(Arrays.asList(genX.generate(x),
+                    genY.generate(y), genColor.generate(color)),
+                    DistributionTest.TARGETS[target]));
+        }//end for
+
+        return records;
+    }
+
+}//end class DistributionTest
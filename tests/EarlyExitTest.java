@@ -0,0 +1,167 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests, that the early-exit mode of AdaBoostM1 predicts the same
+ * class ids as the full sum of the votes. A trained model of DecisionStump's'
+ * is checked on noisy Record's', and hand-made ensembles are checked on
+ * near-ties, whose sums differ only by rounding, within the relative slack of
+ * the early exit.
+ */
+public class EarlyExitTest {
+
+    /**
+     * The output values of the test Record's'.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        //A trained model, checked on its training and on unseen Record's'
+        Collection<Record<String>> train = EarlyExitTest.createRecords(random,
+                600);
+        AdaBoostM1<String> model = new AdaBoostM1<>(train,
+                DecisionStump.generator(), 80);
+        int mismatches = EarlyExitTest.mismatches(model, train);
+        mismatches += EarlyExitTest.mismatches(model,
+                EarlyExitTest.createRecords(random, 600));
+        System.out.println("trained rounds: " + model.rounds() +
+                ", mismatches: " + mismatches);
+
+        //Hand-made ensembles, with votes from a few values, so the sums of the
+        //class ids tie or nearly tie often
+        Dictionary<String> labels = new Dictionary<>();
+        for (String target : EarlyExitTest.TARGETS) {
+            labels.add(target);
+        }//end for
+
+        List<Record<String>> records = EarlyExitTest.createRecords(random, 200);
+        double[] votes = {0.1, 0.2, 0.3, 0.7, 1.0 / 3.0};
+        int tieMismatches = 0;
+        for (int e = 0; e < 200; e++) {
+            int rounds = 2 + random.nextInt(12);
+            List<IndexedClassifier<String>> h = new ArrayList<>(rounds);
+            double[] b = new double[rounds];
+            for (int t = 0; t < rounds; t++) {
+                h.add(EarlyExitTest.hypothesis(labels, random.nextInt(97)));
+                //The beta of a round, with vote log(1 / beta)
+                b[t] = Math.exp(-votes[random.nextInt(votes.length)]);
+            }//end for
+
+            tieMismatches += EarlyExitTest.mismatches(new AdaBoostM1<>(labels,
+                    h, b), records);
+        }//end for
+
+        //The vote of "b" ties with the 2 votes of "a", which wins the full sum
+        //with the smaller class id, while the margin of "b" after the 2nd
+        //round exceeds the remaining vote by rounding alone
+        List<IndexedClassifier<String>> h = Arrays.asList(
+                EarlyExitTest.constant(labels, "b"),
+                EarlyExitTest.constant(labels, "a"),
+                EarlyExitTest.constant(labels, "a"));
+        double[] b = {Math.exp(-(0.964 + 0.94)), Math.exp(-0.964),
+                Math.exp(-0.94)};
+        tieMismatches += EarlyExitTest.mismatches(new AdaBoostM1<>(labels, h,
+                b), records);
+        System.out.println("near-tie ensembles: 201, mismatches: " +
+                tieMismatches);
+
+        System.out.println("result: " + (mismatches == 0 &&
+                tieMismatches == 0 ? "good" : "bad"));
+    }
+
+    /**
+     * Counts the Record's' whose class id in the early-exit mode of an
+     * AdaBoostM1 model differs from the class id of the full sum of the votes.
+     * @param model An AdaBoostM1 model.
+     * @param records The Record's' to classify.
+     * @return The number of Record's' with a different class id.
+     */
+    private static int mismatches(@NotNull AdaBoostM1<String> model,
+            @NotNull Collection<Record<String>> records) {
+        int mismatches = 0;
+        for (Record<String> r : records) {
+            model.setEarlyExit(false);
+            int full = model.predictClass(r);
+            model.setEarlyExit(true);
+            if (model.predictClass(r) != full) {
+                mismatches++;
+            }//end if
+        }//end for
+
+        return mismatches;
+    }
+
+    /**
+     * Creates a weak IndexedClassifier, that predicts an output value from the
+     * Feature's' of a Record, mixed with a salt.
+     * @param labels The Dictionary of the output values.
+     * @param salt The salt of the IndexedClassifier.
+     * @return The weak IndexedClassifier.
+     */
+    private static @NotNull IndexedClassifier<String> hypothesis(
+            @NotNull Dictionary<String> labels, int salt) {
+        return IndexedClassifier.of(r -> {
+            int x = ((Number) r.getFeature("x").getData()).intValue();
+            int y = ((Number) r.getFeature("y").getData()).intValue();
+            return labels.value(Math.floorMod(x * salt + y * (salt >>> 3) +
+                    salt, labels.size()));
+        }, labels);
+    }
+
+    /**
+     * Creates a weak IndexedClassifier, that always predicts the same output
+     * value.
+     * @param labels The Dictionary of the output values.
+     * @param value The output value to predict.
+     * @return The weak IndexedClassifier.
+     */
+    private static @NotNull IndexedClassifier<String> constant(
+            @NotNull Dictionary<String> labels, @NotNull String value) {
+        return IndexedClassifier.of(r -> value, labels);
+    }
+
+    /**
+     * Creates noisy test Record's', with 2 continuous Feature's' and a
+     * discrete one, whose output value mostly follows the continuous ones.
+     * @param random The source of randomness.
+     * @param size The number of Record's'.
+     * @return The test Record's'.
+     */
+    private static @NotNull List<Record<String>> createRecords(
+            @NotNull Random random, int size) {
+        Feature.Generator<Integer> genX = new Feature.Generator<>("x",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<Integer> genY = new Feature.Generator<>("y",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<String> genColor = new Feature.Generator<>("color",
+                Feature.Type.DISCRETE);
+        String[] colors = {"red", "green", "blue"};
+
+        List<Record<String>> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(100);
+            int y = random.nextInt(100);
+            int target = x + y < 80 ? 0 : x < 60 ? 1 : 2;
+            //Replaces the output value of a share of the Record's' with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(EarlyExitTest.TARGETS.length);
+            }//end if
+
+            Feature<Integer> f1 = genX.generate(x);
+            Feature<Integer> f2 = genY.generate(y);
+            Feature<String> f3 = genColor.generate(colors[random.nextInt(
+                    colors.length)]);
+            records.add(new Record<>(Arrays.asList(f1, f2, f3),
+                    EarlyExitTest.TARGETS[target]));
+        }//end for
+
+        return records;
+    }
+
+}//end class EarlyExitTest
@@ -0,0 +1,106 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests, that the bitset of correct rows, which the
+ * ClassifierGenerator's' of DecisionStump and DecisionTree build while they
+ * train a Hypothesis, is the same as the bitset of a prediction of all the
+ * training rows by its weak Classifier. The Hypothesis's' are trained on
+ * continuous, quantized and discrete Feature's', with random sample weights.
+ */
+public class HypothesisTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test rows.
+     */
+    private static final String[] COLORS = {"red", "green", "blue", "gray"};
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        List<ClassifierGenerator<String>> generators = Arrays.asList(
+                DecisionStump.generator(),
+                DecisionTree.generator(3, new TreeBudget(8, 4, 0.0)));
+        int hypotheses = 0;
+        int mismatches = 0;
+        for (int d = 0; d < 20; d++) {
+            Dataset<String> dataset = HypothesisTest.createDataset(random,
+                    50 + random.nextInt(300));
+            //Every 2nd Dataset is quantized
+            if (d % 2 == 1) {
+                dataset.quantize(2 + random.nextInt(15));
+            }//end if
+
+            ColumnBlock block = new ColumnBlock(dataset);
+            int[] predicted = new int[dataset.size()];
+            for (int t = 0; t < 5; t++) {
+                double[] weights = new double[dataset.size()];
+                for (int r = 0; r < weights.length; r++) {
+                    weights[r] = random.nextDouble();
+                }//end for
+
+                for (ClassifierGenerator<String> generator : generators) {
+                    Hypothesis<String> hypothesis = generator.train(dataset,
+                            weights, () -> block);
+                    hypothesis.getClassifier().predict(block, predicted);
+                    hypotheses++;
+                    //Checks if the bitset of training differs from the bitset
+                    //of the prediction
+                    if (!Arrays.equals(hypothesis.getCorrect(),
+                            Hypothesis.mask(predicted, dataset.targets()))) {
+                        mismatches++;
+                    }//end if
+                }//end for
+            }//end for
+        }//end for
+
+        System.out.println("hypotheses: " + hypotheses + ", mismatches: " +
+                mismatches);
+        System.out.println("result: " + (mismatches == 0 ? "good" : "bad"));
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with a continuous Feature of few
+     * distinct values, a continuous Feature of real values and a discrete
+     * Feature, whose output value mostly follows the other Feature's'.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<Integer> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> colors = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextInt(12));
+            y.add(random.nextGaussian());
+            colors.add(HypothesisTest.COLORS[random.nextInt(
+                    HypothesisTest.COLORS.length)]);
+            int target = x.get(i) < 4 ? 0 : colors.get(i).equals("red") ? 1 :
+                    y.get(i) < 0.2 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.3) {
+                target = random.nextInt(HypothesisTest.TARGETS.length);
+            }//end if
+
+            targets.add(HypothesisTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Integer>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS), new Feature.Generator<String>(
+                "color", Feature.Type.DISCRETE)), Arrays.asList(x, y, colors),
+                targets);
+    }
+
+}//end class HypothesisTest
@@ -0,0 +1,142 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Contains tests, that a model trained in a parallel TrainingContext is the
+ * same as the model trained sequentially. The sequential threshold is low, so
+ * that the subtrees of most Node's' are grown as separate tasks. The
+ * AdaBoostM1's' of DecisionStump's' score the Feature's' of every round in a
+ * TrainingContext of an external ForkJoinPool, that must still run after the
+ * TrainingContext is closed.
+ */
+public class ParallelTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test rows.
+     */
+    private static final String[] COLORS = {"red", "green", "blue", "gray"};
+
+    public static void main(String[] args) {
+        Random random = new Random(37);
+        int trees = 0;
+        int mismatches = 0;
+        try (TrainingContext context = new TrainingContext(4, 16)) {
+            for (int d = 0; d < 10; d++) {
+                Dataset<String> dataset = ParallelTest.createDataset(random,
+                        200 + random.nextInt(2000));
+                ColumnBlock block = new ColumnBlock(dataset);
+                int minNodeCapacity = 1 + random.nextInt(5);
+                DecisionTree<String> sequential = new DecisionTree<>(dataset,
+                        minNodeCapacity);
+                DecisionTree<String> parallel = new DecisionTree<>(dataset,
+                        minNodeCapacity, context);
+                trees++;
+                mismatches += ParallelTest.mismatches(sequential, parallel,
+                        block) + (sequential.size() != parallel.size() ? 1 :
+                        0);
+            }//end for
+        }//end try
+
+        System.out.println("trees: " + trees + ", mismatches: " +
+                mismatches);
+
+        int ensembles = 0;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try (TrainingContext context = new TrainingContext(pool, 16)) {
+            for (int d = 0; d < 5; d++) {
+                Dataset<String> dataset = ParallelTest.createDataset(random,
+                        200 + random.nextInt(2000));
+                ColumnBlock block = new ColumnBlock(dataset);
+                AdaBoostM1<String> sequential = new AdaBoostM1<>(dataset, 30,
+                        TrainingContext.sequential());
+                AdaBoostM1<String> parallel = new AdaBoostM1<>(dataset, 30,
+                        context);
+                ensembles++;
+                mismatches += ParallelTest.mismatches(sequential, parallel,
+                        block) + (sequential.rounds() != parallel.rounds() ?
+                        1 : 0);
+            }//end for
+        }//end try
+
+        //Checks if the external ForkJoinPool was shut down by the
+        //TrainingContext
+        boolean isPoolKept = !pool.isShutdown();
+        pool.shutdown();
+        System.out.println("AdaBoostM1's': " + ensembles + ", mismatches: " +
+                mismatches + ", external pool kept: " + isPoolKept);
+        System.out.println("result: " + (mismatches == 0 && isPoolKept ?
+                "good" : "bad"));
+    }
+
+    /**
+     * Counts the rows of a ColumnBlock, whose class id predicted by 2 models
+     * differs.
+     * @param model A trained model.
+     * @param other Another trained model.
+     * @param block The rows to classify.
+     * @return The number of rows with a different class id.
+     */
+    private static int mismatches(@NotNull IndexedClassifier<String> model,
+            @NotNull IndexedClassifier<String> other,
+            @NotNull ColumnBlock block) {
+        int[] predicted = new int[block.size()];
+        model.predict(block, predicted);
+        int[] otherPredicted = new int[block.size()];
+        other.predict(block, otherPredicted);
+        int mismatches = 0;
+        for (int i = 0; i < predicted.length; i++) {
+            if (predicted[i] != otherPredicted[i]) {
+                mismatches++;
+            }//end if
+        }//end for
+
+        return mismatches;
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with a continuous Feature of few
+     * distinct values, a continuous Feature of real values and a discrete
+     * Feature, whose output value mostly follows them.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<Integer> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> colors = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextInt(20));
+            y.add(random.nextGaussian());
+            colors.add(ParallelTest.COLORS[random.nextInt(
+                    ParallelTest.COLORS.length)]);
+            int target = x.get(i) < 6 ? 0 : colors.get(i).equals("red") ? 1 :
+                    y.get(i) < 0.2 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(ParallelTest.TARGETS.length);
+            }//end if
+
+            targets.add(ParallelTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Integer>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS), new Feature.Generator<String>(
+                "color", Feature.Type.DISCRETE)), Arrays.asList(x, y, colors),
+                targets);
+    }
+
+}//end class ParallelTest
@@ -0,0 +1,157 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Contains tests of the resampling mode of AdaBoostM1, with a learner that
+ * ignores the sample weights. Every weak Classifier must be trained on a
+ * sample with a weight of 1 per row, never on the weighted rows, and the
+ * training must not stop early because a round fell back to the unweighted
+ * rows. The samples are small, so some rounds must draw a fresh sample. The
+ * same seed must train the same model.
+ */
+public class ResampleTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b"};
+
+    /**
+     * The maximum number of rounds.
+     */
+    private static final int ROUNDS = 40;
+
+    /**
+     * The size of the sample of every round, as a fraction of the rows.
+     */
+    private static final double FRACTION = 0.1;
+
+    /**
+     * The number of samples weak Classifier's' are trained on.
+     */
+    private static int samples;
+
+    /**
+     * The number of weak Classifier's' trained on rows with a weight other
+     * than 1.
+     */
+    private static int weighted;
+
+    /**
+     * The number of weak Classifier's' trained on a sample of another size
+     * than FRACTION of the rows.
+     */
+    private static int wrongSize;
+
+    public static void main(String[] args) {
+        Dataset<String> dataset = ResampleTest.createDataset(new Random(17),
+                800);
+        AdaBoostM1<String> model = new AdaBoostM1<>(dataset,
+                ResampleTest.generator(dataset.size()), ResampleTest.ROUNDS,
+                ResampleTest.FRACTION, 42L);
+        int samples = ResampleTest.samples;
+        System.out.println("rounds: " + model.rounds() + " of " +
+                ResampleTest.ROUNDS + ", samples: " + samples +
+                ", weighted rounds: " + ResampleTest.weighted +
+                ", samples of wrong size: " + ResampleTest.wrongSize);
+
+        //The same seed, so the same samples and the same model
+        AdaBoostM1<String> same = new AdaBoostM1<>(dataset,
+                ResampleTest.generator(dataset.size()), ResampleTest.ROUNDS,
+                ResampleTest.FRACTION, 42L);
+        ColumnBlock block = new ColumnBlock(dataset);
+        int[] predicted = new int[dataset.size()];
+        model.predict(block, predicted);
+        int[] samePredicted = new int[dataset.size()];
+        same.predict(block, samePredicted);
+        boolean isRepeatable = model.rounds() == same.rounds() &&
+                Arrays.equals(predicted, samePredicted);
+        System.out.println("repeatable with the same seed: " + isRepeatable);
+
+        //Checks if the model has all its rounds, after fresh samples
+        System.out.println("result: " + (model.rounds() ==
+                ResampleTest.ROUNDS && samples > ResampleTest.ROUNDS &&
+                ResampleTest.weighted == 0 &&
+                ResampleTest.wrongSize == 0 && isRepeatable ? "good" : "bad"));
+    }
+
+    /**
+     * Creates a ClassifierGenerator of small DecisionTree's', that ignore the
+     * sample weights, and records the rows every one is trained on.
+     * @param size The number of training rows.
+     * @return The recording ClassifierGenerator.
+     */
+    private static @NotNull ClassifierGenerator<String> generator(int size) {
+        int draws = (int) Math.ceil(ResampleTest.FRACTION * size);
+        return new ClassifierGenerator<String>() {
+
+            @Override
+            public @NotNull Classifier<String> generate(
+                    @NotNull Dataset<String> dataset,
+                    @NotNull double[] weights) {
+                ResampleTest.samples++;
+                //Checks if the rows are not a sample with unit weights
+                for (double w : weights) {
+                    if (w != 1.0) {
+                        ResampleTest.weighted++;
+                        break;
+                    }//end if
+                }//end for
+
+                if (dataset.size() != draws) {
+                    ResampleTest.wrongSize++;
+                }//end if
+
+                return new DecisionTree<>(dataset, null, 1, new TreeBudget(4,
+                        2, 0.0));
+            }
+
+            @Override
+            public @NotNull Hypothesis<String> train(
+                    @NotNull Dataset<String> dataset,
+                    @NotNull double[] weights,
+                    @NotNull Supplier<ColumnBlock> block) {
+                //A round on all the weighted rows
+                ResampleTest.weighted++;
+                return ClassifierGenerator.super.train(dataset, weights,
+                        block);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with 2 continuous Feature's',
+     * whose output value mostly follows them.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<Double> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextGaussian());
+            y.add(random.nextGaussian());
+            int target = x.get(i) * y.get(i) < 0.0 ? 0 : 1;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(ResampleTest.TARGETS.length);
+            }//end if
+
+            targets.add(ResampleTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Double>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS)), Arrays.asList(x, y), targets);
+    }
+
+}//end class ResampleTest
@@ -0,0 +1,161 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains a test, that the shard-parallel training of AdaBoostM1 over
+ * ShardWorker processes trains the same model as a single JVM on the same
+ * bins. The rows are written to a temporary .csv file, and trained on by 2
+ * ShardWorker processes. The same rows, with every continuous value replaced
+ * by the bound of the bin the ShardCoordinator assigns it to, are trained on
+ * by an AdaBoostM1 of DecisionStump's' in this JVM, and both models must
+ * predict the same target value for every row.
+ */
+public class ShardTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test rows.
+     */
+    private static final String[] COLORS = {"red", "green", "blue"};
+
+    /**
+     * The number of ShardWorker processes.
+     */
+    private static final int WORKERS = 2;
+
+    /**
+     * The number of test rows. It is a power of 2, so the initial weights and
+     * their sums are exact in both models, and every shard has at most
+     * ShardCoordinator.SKETCH rows, so the sketches hold all the values.
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * The maximum number of bins of every continuous Feature.
+     */
+    private static final int MAX_BINS = 16;
+
+    /**
+     * The maximum number of rounds.
+     */
+    private static final int ROUNDS = 30;
+
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        Random random = new Random(11);
+        double[] x = new double[ShardTest.SIZE];
+        double[] y = new double[ShardTest.SIZE];
+        String[] colors = new String[ShardTest.SIZE];
+        String[] targets = new String[ShardTest.SIZE];
+        for (int i = 0; i < ShardTest.SIZE; i++) {
+            x[i] = random.nextGaussian();
+            y[i] = random.nextGaussian();
+            int target = x[i] + y[i] < -0.5 ? 0 : x[i] < 0.3 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(ShardTest.TARGETS.length);
+            }//end if
+
+            colors[i] = ShardTest.COLORS[random.nextInt(
+                    ShardTest.COLORS.length)];
+            targets[i] = ShardTest.TARGETS[target];
+        }//end for
+
+        //The 1st rows take every value in turn, once per shard, so the class
+        //ids and value codes are in the same order in both models, and ties
+        //are broken the same way
+        for (int i = 0; i < ShardTest.TARGETS.length * ShardTest.WORKERS;
+             i++) {
+            targets[i] = ShardTest.TARGETS[i / ShardTest.WORKERS];
+            colors[i] = ShardTest.COLORS[i / ShardTest.WORKERS];
+        }//end for
+
+        Path file = Files.createTempFile("shard", ".csv");
+        try {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(
+                    file))) {
+                writer.println(ShardTest.SIZE + ",x:1,y:1,color:0,target");
+                for (int i = 0; i < ShardTest.SIZE; i++) {
+                    writer.println(x[i] + "," + y[i] + "," + colors[i] + "," +
+                            targets[i]);
+                }//end for
+            }//end try
+
+            AdaBoostM1<String> sharded = ShardCoordinator.train(
+                    file.toString(), ShardTest.WORKERS, ShardTest.MAX_BINS,
+                    ShardTest.ROUNDS);
+
+            //The same rows, with the continuous values on the bins of the
+            //ShardCoordinator
+            Feature.Generator<Double> genX = new Feature.Generator<>("x",
+                    Feature.Type.CONTINUOUS);
+            Feature.Generator<Double> genY = new Feature.Generator<>("y",
+                    Feature.Type.CONTINUOUS);
+            Feature.Generator<String> genColor = new Feature.Generator<>(
+                    "color", Feature.Type.DISCRETE);
+            Dataset<String> dataset = new Dataset<>(Arrays.asList(genX, genY,
+                    genColor), Arrays.asList(ShardTest.binned(x),
+                    ShardTest.binned(y), Arrays.asList(colors)),
+                    Arrays.asList(targets));
+            AdaBoostM1<String> single = new AdaBoostM1<>(dataset,
+                    DecisionStump.generator(), ShardTest.ROUNDS);
+
+            int[] predicted = new int[dataset.size()];
+            single.predict(new ColumnBlock(dataset), predicted);
+            int[] shardPredicted = new int[dataset.size()];
+            sharded.predict(new ColumnBlock(dataset), shardPredicted);
+            int mismatches = 0;
+            for (int i = 0; i < predicted.length; i++) {
+                if (!single.label(predicted[i]).equals(sharded.label(
+                        shardPredicted[i]))) {
+                    mismatches++;
+                }//end if
+            }//end for
+
+            System.out.println("sharded rounds: " + sharded.rounds() +
+                    ", single JVM rounds: " + single.rounds());
+            System.out.println("mismatches: " + mismatches);
+            System.out.println("result: " + (sharded.rounds() ==
+                    single.rounds() && mismatches == 0 ? "good" : "bad"));
+        } finally {
+            Files.delete(file);
+        }//end try
+    }
+
+    /**
+     * Replaces every value of a continuous Feature by the upper bound of its
+     * bin, as the ShardCoordinator finds the bins. Every shard has at most
+     * ShardCoordinator.SKETCH rows, so its sketch holds all its values, each
+     * standing for 1 row.
+     * @param column The values of the continuous Feature, for all the rows.
+     * @return The bin bound of every value of column.
+     */
+    private static @NotNull List<Double> binned(@NotNull double[] column) {
+        List<double[]> sketch = new ArrayList<>(column.length);
+        for (double value : column) {
+            sketch.add(new double[]{value, 1.0});
+        }//end for
+
+        double[] bounds = ShardCoordinator.bounds(sketch, column.length,
+                ShardTest.MAX_BINS);
+        List<Double> binned = new ArrayList<>(column.length);
+        for (double value : column) {
+            binned.add(bounds[ShardCoordinator.bin(bounds, value)]);
+        }//end for
+
+        return binned;
+    }
+
+}//end class ShardTest
@@ -0,0 +1,370 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests, that the split search of Table, which sweeps the presorted
+ * rows of every continuous Feature and partitions them in place on every
+ * split, picks the same split as an exhaustive search. The exhaustive search
+ * holds its own rows for every Table, as the Table's' did before the rows were
+ * shared, sorts them again at every Table, and scores every distinct value as
+ * a split bound from a contingency table of all the rows. Trees of Table's'
+ * are grown with and without sample weights, on continuous and on quantized
+ * Feature's'.
+ */
+public class SplitSearchTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test rows.
+     */
+    private static final String[] COLORS = {"red", "green", "blue", "gray"};
+
+    /**
+     * The maximum gap of 2 information gains that are considered equal, as
+     * they are summed in a different order by the 2 searches.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * The minimum number of rows of a split Table.
+     */
+    private static final int MIN_CAPACITY = 5;
+
+    /**
+     * The maximum depth of the trees of Table's'.
+     */
+    private static final int MAX_DEPTH = 6;
+
+    /**
+     * The number of Table's' checked.
+     */
+    private static int tables;
+
+    /**
+     * The number of split bounds of continuous Feature's' checked.
+     */
+    private static int bounds;
+
+    /**
+     * The number of split bounds that differ from the exhaustive search only
+     * on a tie of a positive information gain. Bounds with no information gain
+     * all mean that the Feature does not split the rows.
+     */
+    private static int ties;
+
+    /**
+     * The number of Table's' or split bounds that differ from the exhaustive
+     * search.
+     */
+    private static int mismatches;
+
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        for (int d = 0; d < 20; d++) {
+            Dataset<String> dataset = SplitSearchTest.createDataset(random,
+                    100 + random.nextInt(400));
+            //Every 2nd Dataset is quantized, so its split bounds are found
+            //from the histograms of its bins
+            if (d % 2 == 1) {
+                dataset.quantize(2 + random.nextInt(15));
+            }//end if
+
+            double[] weights = new double[dataset.size()];
+            for (int r = 0; r < weights.length; r++) {
+                //A share of the rows have no weight at all
+                weights[r] = random.nextDouble() < 0.1 ? 0.0 :
+                        random.nextDouble();
+            }//end for
+
+            int[] rows = new int[dataset.size()];
+            for (int r = 0; r < rows.length; r++) {
+                rows[r] = r;
+            }//end for
+
+            SplitSearchTest.check(new Table<>(dataset), dataset, null, rows,
+                    0);
+            SplitSearchTest.check(new Table<>(dataset, weights), dataset,
+                    weights, rows, 0);
+        }//end for
+
+        System.out.println("tables: " + SplitSearchTest.tables +
+                ", bounds: " + SplitSearchTest.bounds + ", ties: " +
+                SplitSearchTest.ties);
+        System.out.println("mismatches: " + SplitSearchTest.mismatches);
+        System.out.println("result: " + (SplitSearchTest.mismatches == 0 ?
+                "good" : "bad"));
+    }
+
+    /**
+     * Checks the split bounds and the optimal Feature of a Table against the
+     * exhaustive search, then splits it on its optimal Feature, and checks the
+     * split Tables, until MAX_DEPTH.
+     * @param table The Table to check.
+     * @param dataset The Dataset of the Table.
+     * @param weights The sample weight of every row of dataset, or null if
+     * every row has a weight of 1.
+     * @param rows The rows of the Table, as held by the exhaustive search.
+     * @param depth The depth of the Table, with 0 for the root.
+     */
+    private static void check(@NotNull Table<String> table,
+            @NotNull Dataset<String> dataset, double[] weights,
+            @NotNull int[] rows, int depth) {
+        SplitSearchTest.tables++;
+        //Validates that the Table has the rows of the exhaustive search
+        if (table.size() != rows.length) {
+            SplitSearchTest.mismatches++;
+            return;
+        }//end if
+
+        //The maximum information gain of all the Feature's'
+        double bestGain = Double.NEGATIVE_INFINITY;
+        for (int f = 0; f < dataset.featureCount(); f++) {
+            //Checks if the Feature is discrete, so it has a single split
+            if (dataset.type(f) == Feature.Type.DISCRETE) {
+                bestGain = Math.max(bestGain, SplitSearchTest.gain(dataset,
+                        weights, rows, dataset.discrete(f),
+                        dataset.valueCount(f)));
+                continue;
+            }//end if
+
+            double[] values = SplitSearchTest.values(dataset, f);
+            double bound = SplitSearchTest.bestBound(dataset, weights, rows,
+                    values);
+            double gain = SplitSearchTest.gain(dataset, weights, rows, values,
+                    bound);
+            bestGain = Math.max(bestGain, gain);
+            SplitSearchTest.bounds++;
+            //Checks if the Table picks another bound, which is only right if
+            //it has the same information gain
+            if (table.bound(f) != bound) {
+                if (Math.abs(SplitSearchTest.gain(dataset, weights, rows,
+                        values, table.bound(f)) - gain) >
+                        SplitSearchTest.EPSILON) {
+                    SplitSearchTest.mismatches++;
+                } else if (gain > SplitSearchTest.EPSILON) {
+                    SplitSearchTest.ties++;
+                }//end if
+            }//end if
+        }//end for
+
+        //Validates that the optimal Feature of the Table has the maximum
+        //information gain
+        if (Math.abs(table.optimalGain() - bestGain) >
+                SplitSearchTest.EPSILON) {
+            SplitSearchTest.mismatches++;
+        }//end if
+
+        //Checks if the tree is deep enough
+        if (depth == SplitSearchTest.MAX_DEPTH) {
+            return;
+        }//end if
+
+        int f = table.optimalSlot();
+        //The cell of every row of the Table, as the Table splits it
+        int[] cells = new int[rows.length];
+        int cellCount;
+        if (dataset.type(f) == Feature.Type.DISCRETE) {
+            for (int i = 0; i < rows.length; i++) {
+                cells[i] = dataset.discrete(f)[rows[i]];
+            }//end for
+
+            cellCount = dataset.valueCount(f);
+        } else {
+            double[] values = SplitSearchTest.values(dataset, f);
+            for (int i = 0; i < rows.length; i++) {
+                cells[i] = values[rows[i]] <= table.bound(f) ? 0 : 1;
+            }//end for
+
+            cellCount = 2;
+        }//end if
+
+        List<Table<String>> children = table.split(f,
+                SplitSearchTest.MIN_CAPACITY);
+        for (int k = 0; k < children.size(); k++) {
+            //The rows of the split Table, as held by the exhaustive search
+            List<Integer> childRows = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                if (cells[i] == k) {
+                    childRows.add(rows[i]);
+                }//end if
+            }//end for
+
+            boolean isDropped = childRows.size() < SplitSearchTest.MIN_CAPACITY;
+            //Validates that the Table drops the same split Tables
+            if (isDropped != (children.get(k) == null)) {
+                SplitSearchTest.mismatches++;
+            } else if (!isDropped) {
+                SplitSearchTest.check(children.get(k), dataset, weights,
+                        childRows.stream().mapToInt(Integer::intValue)
+                                .toArray(), depth + 1);
+            }//end if
+        }//end for
+
+        //Validates that a split Table is expected for every cell
+        if (!children.isEmpty() && children.size() != cellCount) {
+            SplitSearchTest.mismatches++;
+        }//end if
+    }
+
+    /**
+     * Finds the best split bound of a continuous Feature, in a set of rows, by
+     * sorting the rows and scoring every distinct value, except the maximum,
+     * from a contingency table of all the rows. Ties are broken in favor of
+     * the smaller bound.
+     * @param dataset The Dataset of the rows.
+     * @param weights The sample weight of every row of dataset, or null.
+     * @param rows The rows.
+     * @param values The value of the continuous Feature, of every row of
+     * dataset.
+     * @return The bound with the maximum information gain, or the maximum
+     * value if no bound has a positive information gain.
+     */
+    private static double bestBound(@NotNull Dataset<String> dataset,
+            double[] weights, @NotNull int[] rows, @NotNull double[] values) {
+        Integer[] sorted = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+        Arrays.sort(sorted, Comparator.comparingDouble(r -> values[r]));
+        double bestBound = values[sorted[sorted.length - 1]];
+        double bestGain = 0.0;
+        for (int i = 0; i < sorted.length - 1; i++) {
+            double bound = values[sorted[i]];
+            //Checks if the next row has the same value, so it is the same bound
+            if (values[sorted[i + 1]] == bound) {
+                continue;
+            }//end if
+
+            double gain = SplitSearchTest.gain(dataset, weights, rows, values,
+                    bound);
+            if (gain > bestGain + SplitSearchTest.EPSILON) {
+                bestBound = bound;
+                bestGain = gain;
+            }//end if
+        }//end for
+
+        return bestBound;
+    }
+
+    /**
+     * Calculates the information gain of splitting a set of rows at a bound of
+     * a continuous Feature.
+     * @param dataset The Dataset of the rows.
+     * @param weights The sample weight of every row of dataset, or null.
+     * @param rows The rows.
+     * @param values The value of the continuous Feature, of every row of
+     * dataset.
+     * @param bound The split bound. Values <= bound fall in cell 0, and the
+     * rest in cell 1.
+     * @return The information gain of the split.
+     */
+    private static double gain(@NotNull Dataset<String> dataset,
+            double[] weights, @NotNull int[] rows, @NotNull double[] values,
+            double bound) {
+        int[] cells = new int[dataset.size()];
+        for (int r : rows) {
+            cells[r] = values[r] <= bound ? 0 : 1;
+        }//end for
+
+        return SplitSearchTest.gain(dataset, weights, rows, cells, 2);
+    }
+
+    /**
+     * Calculates the information gain of splitting a set of rows into cells,
+     * from their contingency table.
+     * @param dataset The Dataset of the rows.
+     * @param weights The sample weight of every row of dataset, or null.
+     * @param rows The rows.
+     * @param cells The cell of every row of dataset.
+     * @param cellCount The number of cells.
+     * @return The information gain of the split.
+     */
+    private static double gain(@NotNull Dataset<String> dataset,
+            double[] weights, @NotNull int[] rows, @NotNull int[] cells,
+            int cellCount) {
+        double[][] table = new double[cellCount][dataset.classCount()];
+        double[] freq = new double[dataset.classCount()];
+        double weight = 0.0;
+        for (int r : rows) {
+            double w = weights == null ? 1.0 : weights[r];
+            table[cells[r]][dataset.targets()[r]] += w;
+            freq[dataset.targets()[r]] += w;
+            weight += w;
+        }//end for
+
+        double gain = SplitStatistics.entropy(freq, weight);
+        for (double[] cell : table) {
+            double size = Arrays.stream(cell).sum();
+            //Checks if the current cell is empty
+            if (size > 0.0) {
+                gain -= size / weight * SplitStatistics.entropy(cell, size);
+            }//end if
+        }//end for
+
+        return gain;
+    }
+
+    /**
+     * Gets the value of a continuous Feature, of every row of a Dataset. The
+     * value of a quantized Feature is the upper bound of the bin of the row.
+     * @param dataset A Dataset.
+     * @param f The slot of a continuous Feature.
+     * @return The value of the Feature at slot f, of every row of dataset.
+     */
+    private static @NotNull double[] values(@NotNull Dataset<String> dataset,
+            int f) {
+        //Checks if the Feature is not quantized
+        if (!dataset.isBinned(f)) {
+            return dataset.continuous(f);
+        }//end if
+
+        double[] values = new double[dataset.size()];
+        for (int r = 0; r < values.length; r++) {
+            values[r] = dataset.binBound(f, dataset.bins(f)[r] & 0xFF);
+        }//end for
+
+        return values;
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with a continuous Feature of few
+     * distinct values, a continuous Feature of real values and a discrete
+     * Feature, whose output value mostly follows the continuous ones.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<Integer> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> colors = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextInt(12));
+            y.add(random.nextGaussian());
+            colors.add(SplitSearchTest.COLORS[random.nextInt(
+                    SplitSearchTest.COLORS.length)]);
+            int target = x.get(i) < 4 ? 0 : y.get(i) < 0.2 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.3) {
+                target = random.nextInt(SplitSearchTest.TARGETS.length);
+            }//end if
+
+            targets.add(SplitSearchTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Integer>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS), new Feature.Generator<String>(
+                "color", Feature.Type.DISCRETE)), Arrays.asList(x, y, colors),
+                targets);
+    }
+
+}//end class SplitSearchTest
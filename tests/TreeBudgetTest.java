@@ -0,0 +1,133 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests, that a tree grown best-first under a TreeBudget never has
+ * more leaves, or a larger depth, than its budget, even with multiway splits
+ * on discrete Feature's' of many values.
+ */
+public class TreeBudgetTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    public static void main(String[] args) {
+        int violations = 0;
+        //A single discrete Feature of 6 values, whose only split has 6 leaves,
+        //so a budget of 2 leaves keeps the root as a leaf
+        List<String> values = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            values.add("v" + i % 6);
+            targets.add(TreeBudgetTest.TARGETS[i % 6 / 2]);
+        }//end for
+
+        Dataset<String> single = new Dataset<>(Arrays.asList(
+                new Feature.Generator<String>("v", Feature.Type.DISCRETE)),
+                Arrays.asList(values), targets);
+        Node<String> root = new Node<>(new Table<>(single));
+        root.split(1, new TreeBudget(2, 3, 0.0));
+        System.out.println("6-valued Feature, 2 leaves budget: " +
+                TreeBudgetTest.leaves(root) + " leaves");
+        violations += TreeBudgetTest.leaves(root) > 2 ? 1 : 0;
+
+        Random random = new Random(13);
+        int trees = 0;
+        for (int d = 0; d < 30; d++) {
+            Dataset<String> dataset = TreeBudgetTest.createDataset(random,
+                    100 + random.nextInt(400));
+            for (int maxLeaves = 1; maxLeaves <= 20; maxLeaves += 3) {
+                TreeBudget budget = new TreeBudget(maxLeaves,
+                        1 + random.nextInt(6), 0.0);
+                root = new Node<>(new Table<>(dataset));
+                root.split(1 + random.nextInt(5), budget);
+                trees++;
+                //Checks if the tree is past its budget
+                if (TreeBudgetTest.leaves(root) > budget.getMaxLeaves() ||
+                        TreeBudgetTest.depth(root) > budget.getMaxDepth()) {
+                    violations++;
+                }//end if
+            }//end for
+        }//end for
+
+        System.out.println("trees: " + trees + ", violations: " + violations);
+        System.out.println("result: " + (violations == 0 ? "good" : "bad"));
+    }
+
+    /**
+     * Counts the leaves of the subtree of a Node.
+     * @param node The root Node of the subtree.
+     * @return The number of leaves of the subtree.
+     */
+    private static int leaves(@NotNull Node<String> node) {
+        //Checks if the Node is a leaf
+        if (node.isLeaf()) {
+            return 1;
+        }//end if
+
+        int leaves = 0;
+        for (Node<String> child : node.getChildNodes()) {
+            leaves += TreeBudgetTest.leaves(child);
+        }//end for
+
+        return leaves;
+    }
+
+    /**
+     * Finds the depth of the subtree of a Node.
+     * @param node The root Node of the subtree.
+     * @return The depth of the deepest leaf, with the root Node at a depth of
+     * 0.
+     */
+    private static int depth(@NotNull Node<String> node) {
+        int depth = 0;
+        for (Node<String> child : node.getChildNodes()) {
+            depth = Math.max(depth, 1 + TreeBudgetTest.depth(child));
+        }//end for
+
+        return depth;
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with a discrete Feature of many
+     * values, a discrete Feature of few values and a continuous Feature, whose
+     * output value mostly follows them.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<String> wide = new ArrayList<>(size);
+        List<String> narrow = new ArrayList<>(size);
+        List<Double> x = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int w = random.nextInt(9);
+            int n = random.nextInt(3);
+            wide.add("w" + w);
+            narrow.add("n" + n);
+            x.add(random.nextGaussian());
+            int target = w < 3 ? 0 : n == 0 ? 1 : x.get(i) < 0.0 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(TreeBudgetTest.TARGETS.length);
+            }//end if
+
+            targets.add(TreeBudgetTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<String>(
+                "wide", Feature.Type.DISCRETE), new Feature.Generator<String>(
+                "narrow", Feature.Type.DISCRETE), new Feature.Generator<Double>(
+                "x", Feature.Type.CONTINUOUS)), Arrays.asList(wide, narrow, x),
+                targets);
+    }
+
+}//end class TreeBudgetTest
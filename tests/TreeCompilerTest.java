@@ -0,0 +1,163 @@
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests, that the Classifier's' of TreeCompiler predict the same
+ * class id as the models they are compiled from, for every Record. A
+ * DecisionTree, a DecisionTree grown under a TreeBudget, an AdaBoostM1 of
+ * DecisionTree's' and an AdaBoostM1 of DecisionStump's' are compiled, and
+ * checked on their training Record's', one at a time and in a ColumnBlock,
+ * and on unseen Record's', some with discrete values never seen in training.
+ */
+public class TreeCompilerTest {
+
+    /**
+     * The output values of the test Record's'.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The values of the discrete Feature of the test Record's'. The last one
+     * is only used in the unseen Record's'.
+     */
+    private static final String[] COLORS = {"red", "green", "blue", "gray"};
+
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        List<Record<String>> train = TreeCompilerTest.createRecords(random,
+                500, TreeCompilerTest.COLORS.length - 1);
+        List<Record<String>> unseen = TreeCompilerTest.createRecords(random,
+                500, TreeCompilerTest.COLORS.length);
+        Dataset<String> dataset = new Dataset<>(train);
+        ColumnBlock block = new ColumnBlock(dataset);
+
+        int mismatches = 0;
+        DecisionTree<String> tree = new DecisionTree<>(dataset, 2);
+        IndexedClassifier<String> compiledTree = TreeCompiler.compile(tree);
+        mismatches += TreeCompilerTest.mismatches(tree, compiledTree, train,
+                block);
+        mismatches += TreeCompilerTest.mismatches(tree, compiledTree, unseen,
+                null);
+        System.out.println("tree of " + tree.size() + " Nodes, mismatches: " +
+                mismatches);
+
+        DecisionTree<String> budgetTree = new DecisionTree<>(dataset, null, 3,
+                new TreeBudget(12, 5, 0.0));
+        IndexedClassifier<String> compiledBudgetTree = TreeCompiler.compile(
+                budgetTree);
+        mismatches += TreeCompilerTest.mismatches(budgetTree,
+                compiledBudgetTree, train, block);
+        mismatches += TreeCompilerTest.mismatches(budgetTree,
+                compiledBudgetTree, unseen, null);
+        System.out.println("budget tree of " + budgetTree.size() +
+                " Nodes, mismatches: " + mismatches);
+
+        AdaBoostM1<String> trees = new AdaBoostM1<>(dataset,
+                DecisionTree.generator(1, new TreeBudget(32, 8, 0.0)), 20);
+        AdaBoostM1<String> compiledTrees = TreeCompiler.compile(trees);
+        mismatches += TreeCompilerTest.mismatches(trees, compiledTrees, train,
+                block);
+        mismatches += TreeCompilerTest.mismatches(trees, compiledTrees, unseen,
+                null);
+        System.out.println("AdaBoostM1 of " + trees.rounds() +
+                " DecisionTree's', mismatches: " + mismatches);
+
+        //The DecisionStump's' are not compiled, so the model must still
+        //predict the same
+        AdaBoostM1<String> stumps = new AdaBoostM1<>(dataset,
+                DecisionStump.generator(), 20);
+        AdaBoostM1<String> compiledStumps = TreeCompiler.compile(stumps);
+        mismatches += TreeCompilerTest.mismatches(stumps, compiledStumps,
+                train, block);
+        mismatches += TreeCompilerTest.mismatches(stumps, compiledStumps,
+                unseen, null);
+        System.out.println("AdaBoostM1 of " + stumps.rounds() +
+                " DecisionStump's', mismatches: " + mismatches);
+
+        System.out.println("result: " + (mismatches == 0 ? "good" : "bad"));
+    }
+
+    /**
+     * Counts the Record's' whose class id predicted by a compiled model
+     * differs from the class id of the model it was compiled from.
+     * @param model A trained model.
+     * @param compiled The model compiled by TreeCompiler.
+     * @param records The Record's' to classify one at a time.
+     * @param block A ColumnBlock of the training Dataset, to also classify in
+     * a single call, or null to skip it.
+     * @return The number of Record's' and rows with a different class id.
+     */
+    private static int mismatches(@NotNull IndexedClassifier<String> model,
+            @NotNull IndexedClassifier<String> compiled,
+            @NotNull Collection<Record<String>> records,
+            @Nullable ColumnBlock block) {
+        int mismatches = 0;
+        for (Record<String> r : records) {
+            //Checks if the compiled model predicts another class id
+            if (model.predictClass(r) != compiled.predictClass(r) ||
+                    !model.predict(r).equals(compiled.predict(r))) {
+                mismatches++;
+            }//end if
+        }//end for
+
+        //Checks if the rows of the ColumnBlock are also classified
+        if (block != null) {
+            int[] predicted = new int[block.size()];
+            model.predict(block, predicted);
+            int[] compiledPredicted = new int[block.size()];
+            compiled.predict(block, compiledPredicted);
+            for (int i = 0; i < predicted.length; i++) {
+                if (predicted[i] != compiledPredicted[i]) {
+                    mismatches++;
+                }//end if
+            }//end for
+        }//end if
+
+        return mismatches;
+    }
+
+    /**
+     * Creates noisy test Record's', with 2 continuous Feature's' and a
+     * discrete one, whose output value mostly follows all of them.
+     * @param random The source of randomness.
+     * @param size The number of Record's'.
+     * @param colorCount The number of values of the discrete Feature, that the
+     * Record's' take from the start of COLORS.
+     * @return The test Record's'.
+     */
+    private static @NotNull List<Record<String>> createRecords(
+            @NotNull Random random, int size, int colorCount) {
+        Feature.Generator<Integer> genX = new Feature.Generator<>("x",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<Double> genY = new Feature.Generator<>("y",
+                Feature.Type.CONTINUOUS);
+        Feature.Generator<String> genColor = new Feature.Generator<>("color",
+                Feature.Type.DISCRETE);
+
+        List<Record<String>> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(100);
+            double y = random.nextGaussian();
+            String color = TreeCompilerTest.COLORS[random.nextInt(colorCount)];
+            int target = x < 30 ? 0 : color.equals("red") ? 1 : y < 0.4 ? 1 :
+                    2;
+            //Replaces the output value of a share of the Record's' with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(TreeCompilerTest.TARGETS.length);
+            }//end if
+
+            records.add(new Record<>(Arrays.asList(genX.generate(x),
+                    genY.generate(y), genColor.generate(color)),
+                    TreeCompilerTest.TARGETS[target]));
+        }//end for
+
+        return records;
+    }
+
+}//end class TreeCompilerTest
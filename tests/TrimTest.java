@@ -0,0 +1,231 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Contains tests of the weight-trimming mode of AdaBoostM1. The rows every
+ * weak Classifier is trained on are recorded: the kept rows of a trimmed round
+ * must carry at least the trim share of the total weight, and the trimmed
+ * ensemble must be about as accurate as the untrimmed one. A learner that is
+ * no better than chance on the trimmed rows must make every trimmed round
+ * fall back to all the rows, and so train the same model as no trimming.
+ */
+public class TrimTest {
+
+    /**
+     * The output values of the test rows. The last one is the output value of
+     * a single row.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    /**
+     * The maximum number of rounds.
+     */
+    private static final int ROUNDS = 30;
+
+    /**
+     * The share of the total weight every weak Classifier is trained on.
+     */
+    private static final double SHARE = 0.9;
+
+    /**
+     * The number of weak Classifier's' trained on a part of the rows.
+     */
+    private static int trimmed;
+
+    /**
+     * The smallest share of the total weight, that the rows a weak Classifier
+     * was trained on carry.
+     */
+    private static double minShare = 1.0;
+
+    /**
+     * The number of weak Classifier's' of the failing learner, trained on a
+     * part of the rows.
+     */
+    private static int fallbacks;
+
+    public static void main(String[] args) {
+        Dataset<String> dataset = TrimTest.createDataset(new Random(23), 1000);
+        ColumnBlock block = new ColumnBlock(dataset);
+        ClassifierGenerator<String> trees = DecisionTree.generator(1,
+                new TreeBudget(8, 3, 0.0));
+
+        //Trimmed and untrimmed ensembles of the same learner
+        AdaBoostM1<String> full = new AdaBoostM1<>(dataset, trees,
+                TrimTest.ROUNDS);
+        AdaBoostM1<String> trim = new AdaBoostM1<>(dataset,
+                TrimTest.recording(trees, dataset.size()), TrimTest.ROUNDS,
+                TrimTest.SHARE);
+        double fullAccuracy = TrimTest.accuracy(full, dataset, block);
+        double trimAccuracy = TrimTest.accuracy(trim, dataset, block);
+        System.out.println("untrimmed: " + full.rounds() + " rounds, " +
+                "accuracy " + fullAccuracy);
+        System.out.println("trimmed: " + trim.rounds() + " rounds, " +
+                "accuracy " + trimAccuracy + ", trimmed rounds: " +
+                TrimTest.trimmed + ", smallest kept share: " +
+                TrimTest.minShare);
+        boolean isTrimmed = TrimTest.trimmed > 0 &&
+                TrimTest.minShare >= TrimTest.SHARE - 1e-9 &&
+                trimAccuracy >= fullAccuracy - 0.05;
+
+        //A learner with no better than chance Hypothesis's' on trimmed rows,
+        //so every trimmed round is trained again on all the rows
+        AdaBoostM1<String> fallback = new AdaBoostM1<>(dataset,
+                TrimTest.failing(trees, dataset.size()), TrimTest.ROUNDS,
+                TrimTest.SHARE);
+        int[] predicted = new int[dataset.size()];
+        full.predict(block, predicted);
+        int[] fallbackPredicted = new int[dataset.size()];
+        fallback.predict(block, fallbackPredicted);
+        boolean isFallback = TrimTest.fallbacks > 0 &&
+                fallback.rounds() == full.rounds() &&
+                Arrays.equals(predicted, fallbackPredicted);
+        System.out.println("fallback: " + fallback.rounds() + " rounds, " +
+                "trimmed rounds: " + TrimTest.fallbacks +
+                ", same as untrimmed: " + isFallback);
+
+        System.out.println("result: " + (isTrimmed && isFallback ? "good" :
+                "bad"));
+    }
+
+    /**
+     * Creates a ClassifierGenerator that records the rows every weak
+     * Classifier of another one is trained on. The weights of AdaBoostM1 sum
+     * to 1, so the share of the total weight of the rows is the sum of their
+     * weights.
+     * @param generator The ClassifierGenerator to record.
+     * @param size The number of training rows.
+     * @return The recording ClassifierGenerator.
+     */
+    private static @NotNull ClassifierGenerator<String> recording(
+            @NotNull ClassifierGenerator<String> generator, int size) {
+        return new ClassifierGenerator<String>() {
+
+            @Override
+            public @NotNull Classifier<String> generate(
+                    @NotNull Dataset<String> dataset,
+                    @NotNull double[] weights) {
+                TrimTest.record(dataset.size() < size, weights);
+                return generator.generate(dataset, weights);
+            }
+
+            @Override
+            public @NotNull Hypothesis<String> train(
+                    @NotNull Dataset<String> dataset,
+                    @NotNull double[] weights,
+                    @NotNull Supplier<ColumnBlock> block) {
+                TrimTest.record(TrimTest.hasZero(weights), weights);
+                return generator.train(dataset, weights, block);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a ClassifierGenerator that generates the weak Classifier's' of
+     * another one on all the rows, and a Classifier that always predicts the
+     * output value of a single row, so is no better than chance, on a part of
+     * the rows.
+     * @param generator The ClassifierGenerator of all the rows.
+     * @param size The number of training rows.
+     * @return The failing ClassifierGenerator.
+     */
+    private static @NotNull ClassifierGenerator<String> failing(
+            @NotNull ClassifierGenerator<String> generator, int size) {
+        return (dataset, weights) -> {
+            //Checks if some rows are trimmed
+            if (dataset.size() < size || TrimTest.hasZero(weights)) {
+                TrimTest.fallbacks++;
+                return r -> TrimTest.TARGETS[TrimTest.TARGETS.length - 1];
+            }//end if
+
+            return generator.generate(dataset, weights);
+        };
+    }
+
+    /**
+     * Records the rows a weak Classifier is trained on.
+     * @param isTrimmed True if some rows are trimmed, otherwise false.
+     * @param weights The weights of the rows, with 0 for a trimmed row.
+     */
+    private static void record(boolean isTrimmed, @NotNull double[] weights) {
+        double share = 0.0;
+        for (double w : weights) {
+            share += w;
+        }//end for
+
+        TrimTest.trimmed += isTrimmed ? 1 : 0;
+        TrimTest.minShare = Math.min(TrimTest.minShare, share);
+    }
+
+    /**
+     * Indicates if a row has a weight of 0, i.e. is trimmed.
+     * @param weights The weights of the rows.
+     * @return True if a weight is 0, otherwise false.
+     */
+    private static boolean hasZero(@NotNull double[] weights) {
+        for (double w : weights) {
+            if (w == 0.0) {
+                return true;
+            }//end if
+        }//end for
+
+        return false;
+    }
+
+    /**
+     * Finds the share of the rows of a Dataset a model classifies correctly.
+     * @param model A trained model.
+     * @param dataset The Dataset.
+     * @param block The rows of dataset, as a ColumnBlock.
+     * @return The accuracy of the model on the rows of dataset.
+     */
+    private static double accuracy(@NotNull AdaBoostM1<String> model,
+            @NotNull Dataset<String> dataset, @NotNull ColumnBlock block) {
+        int[] predicted = new int[dataset.size()];
+        model.predict(block, predicted);
+        int[] targets = dataset.targets();
+        int correct = 0;
+        for (int i = 0; i < predicted.length; i++) {
+            correct += predicted[i] == targets[i] ? 1 : 0;
+        }//end for
+
+        return (double) correct / predicted.length;
+    }
+
+    /**
+     * Creates a Dataset of noisy test rows, with 2 continuous Feature's',
+     * whose output value mostly follows them. The 1st row has the last output
+     * value, that no other row has.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size) {
+        List<Double> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextGaussian());
+            y.add(random.nextGaussian());
+            int target = x.get(i) * y.get(i) < 0.0 ? 0 : 1;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < 0.2) {
+                target = random.nextInt(2);
+            }//end if
+
+            targets.add(TrimTest.TARGETS[i == 0 ? 2 : target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Double>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS)), Arrays.asList(x, y), targets);
+    }
+
+}//end class TrimTest
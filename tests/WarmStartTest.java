@@ -0,0 +1,108 @@
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains tests of continueTraining of AdaBoostM1. A model trained for some
+ * rounds and continued for the rest must be the same as a model trained for
+ * all the rounds at once. A model whose training stopped must append no round,
+ * until a new weight-trimming or resampling mode lets it resume.
+ */
+public class WarmStartTest {
+
+    /**
+     * The output values of the test rows.
+     */
+    private static final String[] TARGETS = {"a", "b", "c"};
+
+    public static void main(String[] args) {
+        Random random = new Random(29);
+        Dataset<String> dataset = WarmStartTest.createDataset(random, 600,
+                0.2);
+        ColumnBlock block = new ColumnBlock(dataset);
+
+        //20 rounds, continued by 30 rounds, against 50 rounds at once. Both
+        //models stop at the same round, if a round stops the training
+        AdaBoostM1<String> cold = new AdaBoostM1<>(dataset,
+                DecisionStump.generator(), 50);
+        AdaBoostM1<String> warm = new AdaBoostM1<>(dataset,
+                DecisionStump.generator(), 20);
+        int appended = warm.continueTraining(30);
+        int[] predicted = new int[dataset.size()];
+        cold.predict(block, predicted);
+        int[] warmPredicted = new int[dataset.size()];
+        warm.predict(block, warmPredicted);
+        boolean isSame = cold.rounds() > 20 &&
+                appended == cold.rounds() - 20 &&
+                Arrays.equals(predicted, warmPredicted);
+        System.out.println("cold: " + cold.rounds() + " rounds, warm: 20 + " +
+                appended + " rounds, same predictions: " + isSame);
+
+        //Rows without noise, separated by a single threshold, so the 1st
+        //DecisionStump is perfect and the training stops
+        Dataset<String> separable = WarmStartTest.createDataset(random, 600,
+                0.0);
+        AdaBoostM1<String> model = new AdaBoostM1<>(separable,
+                DecisionStump.generator(), 10);
+        int stopped = model.continueTraining(10);
+        model.setTrimShare(1.0);
+        model.setResampling(0.0, 0L);
+        int sameModes = model.continueTraining(10);
+        model.setTrimShare(0.5);
+        int trimmed = model.continueTraining(10);
+        model.setResampling(0.5, 31L);
+        int resampled = model.continueTraining(10);
+        System.out.println("converged after " + (model.rounds() - trimmed -
+                resampled) + " round(s), appended rounds: " + stopped +
+                " after convergence, " + sameModes + " in the same modes, " +
+                trimmed + " after setTrimShare, " + resampled +
+                " after setResampling");
+        boolean isResumed = stopped == 0 && sameModes == 0 && trimmed > 0 &&
+                resampled > 0;
+
+        System.out.println("result: " + (isSame && isResumed ? "good" :
+                "bad"));
+    }
+
+    /**
+     * Creates a Dataset of test rows, with 2 continuous Feature's' and a
+     * discrete one. With no noise, the output value is the sign of the 1st
+     * continuous Feature. Otherwise, it follows both continuous Feature's',
+     * apart from a share of the rows with a random output value.
+     * @param random The source of randomness.
+     * @param size The number of rows.
+     * @param noise The share of the rows with a random output value.
+     * @return The test Dataset.
+     */
+    private static @NotNull Dataset<String> createDataset(
+            @NotNull Random random, int size, double noise) {
+        List<Double> x = new ArrayList<>(size);
+        List<Double> y = new ArrayList<>(size);
+        List<String> colors = new ArrayList<>(size);
+        List<String> targets = new ArrayList<>(size);
+        String[] palette = {"red", "green", "blue"};
+        for (int i = 0; i < size; i++) {
+            x.add(random.nextGaussian());
+            y.add(random.nextGaussian());
+            colors.add(palette[random.nextInt(palette.length)]);
+            int target = noise == 0.0 ? (x.get(i) < 0.0 ? 0 : 1) :
+                    x.get(i) + y.get(i) < -0.5 ? 0 : x.get(i) < 0.3 ? 1 : 2;
+            //Replaces the output value of a share of the rows with noise
+            if (random.nextDouble() < noise) {
+                target = random.nextInt(WarmStartTest.TARGETS.length);
+            }//end if
+
+            targets.add(WarmStartTest.TARGETS[target]);
+        }//end for
+
+        return new Dataset<>(Arrays.asList(new Feature.Generator<Double>("x",
+                Feature.Type.CONTINUOUS), new Feature.Generator<Double>("y",
+                Feature.Type.CONTINUOUS), new Feature.Generator<String>(
+                "color", Feature.Type.DISCRETE)), Arrays.asList(x, y, colors),
+                targets);
+    }
+
+}//end class WarmStartTest